@@ -0,0 +1,51 @@
+package com.nkrhelper.carousel;
+
+import android.graphics.Color;
+import android.os.SystemClock;
+
+import com.nkrhelper.mylibrary.carousel.CarouselPagedAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Created 18/10/2026.
+ *
+ * In-process fake source of any number of colours, every chunk takes a fixed latency to
+ * load as if it came from the network. Items carry the parsed colour, so binding a page
+ * does no parsing.
+ */
+
+public class ColorDataSource extends CarouselPagedAdapter.DataSource<ColorItemAdapter.ColorModel> {
+    private final int mCount;
+    private final long mLatency;
+
+    public ColorDataSource(int count, long latency) {
+        mCount = count;
+        mLatency = latency;
+    }
+
+    @Override
+    public int getCount() {
+        return mCount;
+    }
+
+    @Override
+    public List<ColorItemAdapter.ColorModel> loadRange(int start, int count) {
+        if(mLatency > 0) {
+            SystemClock.sleep(mLatency);
+        }
+
+        List<ColorItemAdapter.ColorModel> items = new ArrayList<>(count);
+        float[] hsv = new float[] {0f, 0.6f, 0.8f};
+        for(int i = start; i < start + count; i++) {
+            hsv[0] = (i * 37) % 360;
+            int color = Color.HSVToColor(hsv);
+            String colorValue = String.format(Locale.US, "#%06X", color & 0xFFFFFF);
+            items.add(new ColorItemAdapter.ColorModel("Color " + i, colorValue, color));
+        }
+
+        return items;
+    }
+}
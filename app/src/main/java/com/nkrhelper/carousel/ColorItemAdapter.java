@@ -2,34 +2,28 @@ package com.nkrhelper.carousel;
 
 import android.graphics.Color;
 import android.support.v7.widget.RecyclerView;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
-import com.nkrhelper.mylibrary.carousel.CarouselView;
-
-import java.util.ArrayList;
-import java.util.List;
+import com.nkrhelper.mylibrary.carousel.CarouselModelAdapter;
 
 /**
  * Created 09/05/2017.
  */
 
-public class ColorItemAdapter extends CarouselView.Adapter<ColorItemAdapter.ColorViewHolder> {
-    private List<ColorItem> mColorItems;
+public class ColorItemAdapter extends CarouselModelAdapter<ColorItemAdapter.ColorModel, ColorItemAdapter.ColorViewHolder> {
+    private final String[] mColorNames;
+    private final String[] mColorValues;
 
     public ColorItemAdapter(String[] colorNames, String[] colorValues) {
-        int nameCount = colorNames.length;
-        int valueCount = colorValues.length;
-
-        int itemCount = nameCount > valueCount ? nameCount : valueCount;
+        int itemCount = Math.min(colorNames.length, colorValues.length);
 
-        mColorItems = new ArrayList<>();
-        for (int i = 0; i < itemCount; i++) {
-            mColorItems.add(new ColorItem(colorNames[i], colorValues[i]));
-        }
+        mColorNames = new String[itemCount];
+        mColorValues = new String[itemCount];
+        System.arraycopy(colorNames, 0, mColorNames, 0, itemCount);
+        System.arraycopy(colorValues, 0, mColorValues, 0, itemCount);
     }
 
     @Override
@@ -41,20 +35,30 @@ public class ColorItemAdapter extends CarouselView.Adapter<ColorItemAdapter.Colo
 
     @Override
     public int getActualItemCount() {
-        return mColorItems.size();
+        return mColorNames.length;
     }
 
     @Override
-    public void onBindCarouselViewHolder(ColorViewHolder holder, int index) {
-        holder.setColor(mColorItems.get(index));
+    public ColorModel prepare(int index) {
+        return new ColorModel(mColorNames[index], mColorValues[index], Color.parseColor(mColorValues[index]));
     }
 
+    @Override
+    public void onBindCarouselViewHolder(ColorViewHolder holder, int index, ColorModel model) {
+        holder.setColor(model);
+    }
 
-//    @Override
-//    public void onViewRecycled(ColorViewHolder holder) {
-//        super.onViewRecycled(holder);
-//        Log.d("TAG", "on recycled: " + holder.getAdapterPosition());
-//    }
+    static final class ColorModel {
+        final String mColorName;
+        final String mColorValue;
+        final int mColor;
+
+        ColorModel(String colorName, String colorValue, int color) {
+            mColorName = colorName;
+            mColorValue = colorValue;
+            mColor = color;
+        }
+    }
 
     static class ColorViewHolder extends RecyclerView.ViewHolder {
         private TextView mColorNameTextView;
@@ -69,12 +73,16 @@ public class ColorItemAdapter extends CarouselView.Adapter<ColorItemAdapter.Colo
             mColorItemPlaceHolder = (ViewGroup) itemView.findViewById(R.id.placeholder_color_item);
         }
 
-        void setColor(ColorItem colorItem) {
-            mColorNameTextView.setText(colorItem.getColorName());
+        void setColor(ColorModel colorModel) {
+            mColorNameTextView.setText(colorModel.mColorName);
+            mColorValueTextView.setText(colorModel.mColorValue);
+            mColorItemPlaceHolder.setBackgroundColor(colorModel.mColor);
+        }
 
-            String colorValue = colorItem.getColorValue();
-            mColorValueTextView.setText(colorValue);
-            mColorItemPlaceHolder.setBackgroundColor(Color.parseColor(colorValue));
+        void setPlaceholder() {
+            mColorNameTextView.setText(null);
+            mColorValueTextView.setText(null);
+            mColorItemPlaceHolder.setBackgroundColor(Color.LTGRAY);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.nkrhelper.carousel;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.nkrhelper.mylibrary.carousel.CarouselPagedAdapter;
+
+/**
+ * Created 18/10/2026.
+ */
+
+public class PagedColorItemAdapter extends CarouselPagedAdapter<ColorItemAdapter.ColorModel, ColorItemAdapter.ColorViewHolder> {
+
+    @Override
+    public ColorItemAdapter.ColorViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        View colorItemView = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_color_item, parent, false);
+        return new ColorItemAdapter.ColorViewHolder(colorItemView);
+    }
+
+    @Override
+    public void onBindCarouselItem(ColorItemAdapter.ColorViewHolder holder, int index, ColorItemAdapter.ColorModel item) {
+        holder.setColor(item);
+    }
+
+    @Override
+    public void onBindPlaceholder(ColorItemAdapter.ColorViewHolder holder, int index) {
+        holder.setPlaceholder();
+    }
+}
@@ -0,0 +1,135 @@
+package com.nkrhelper.carousel;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.support.v7.app.AppCompatActivity;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.Choreographer;
+import android.widget.TextView;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Stress screen, a vertical feed of auto playing carousels with a counter of binds,
+ * inflations and dropped frames. The feed size is set with the {@code EXTRA_*} intent
+ * extras, {@code StressActivityTest} scrolls it headless and prints a report.
+ */
+
+public class StressActivity extends AppCompatActivity {
+    public static final String EXTRA_ROW_COUNT = "com.nkrhelper.carousel.extra.ROW_COUNT";
+    public static final String EXTRA_MAX_ITEM_COUNT = "com.nkrhelper.carousel.extra.MAX_ITEM_COUNT";
+    public static final String EXTRA_LOAD_LATENCY = "com.nkrhelper.carousel.extra.LOAD_LATENCY";
+
+    public static final int DEFAULT_ROW_COUNT = 60;
+    public static final int DEFAULT_MAX_ITEM_COUNT = 10000;
+    public static final long DEFAULT_LOAD_LATENCY = 50;
+
+    private static final long COUNTER_INTERVAL = 500;
+    private static final long FRAME_INTERVAL_NANOS = 16666667;
+
+    private RecyclerView mFeedView;
+    private StressFeedAdapter mFeedAdapter;
+    private TextView mCounterTextView;
+    private FrameMonitor mFrameMonitor;
+    private final Handler mHandler = new Handler();
+
+    private final Runnable mCounterRunnable = new Runnable() {
+        @Override
+        public void run() {
+            updateCounters();
+            mHandler.postDelayed(this, COUNTER_INTERVAL);
+        }
+    };
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_stress);
+
+        int rowCount = getIntent().getIntExtra(EXTRA_ROW_COUNT, DEFAULT_ROW_COUNT);
+        int maxItemCount = getIntent().getIntExtra(EXTRA_MAX_ITEM_COUNT, DEFAULT_MAX_ITEM_COUNT);
+        long loadLatency = getIntent().getLongExtra(EXTRA_LOAD_LATENCY, DEFAULT_LOAD_LATENCY);
+
+        mFeedAdapter = new StressFeedAdapter(rowCount, maxItemCount, loadLatency);
+        mFeedView = (RecyclerView) findViewById(R.id.recycler_stress_feed);
+        mFeedView.setLayoutManager(new LinearLayoutManager(this));
+        mFeedView.setAdapter(mFeedAdapter);
+        mCounterTextView = (TextView) findViewById(R.id.text_stress_counters);
+
+        if(Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            mFrameMonitor = new FrameMonitor();
+        }
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        if(mFrameMonitor != null) {
+            mFrameMonitor.start();
+        }
+        mHandler.post(mCounterRunnable);
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        if(mFrameMonitor != null) {
+            mFrameMonitor.stop();
+        }
+        mHandler.removeCallbacks(mCounterRunnable);
+    }
+
+    public RecyclerView getFeedView() {
+        return mFeedView;
+    }
+
+    public StressFeedAdapter getFeedAdapter() {
+        return mFeedAdapter;
+    }
+
+    /**
+     * Returns the number of vsync intervals missed while the screen was resumed, always 0
+     * below API 16.
+     */
+    public long getDroppedFrameCount() {
+        return mFrameMonitor != null ? mFrameMonitor.mDroppedFrames : 0;
+    }
+
+    private void updateCounters() {
+        mCounterTextView.setText(getString(R.string.stress_counters, mFeedAdapter.getBindCount(),
+                mFeedAdapter.getInflationCount(), getDroppedFrameCount()));
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static class FrameMonitor implements Choreographer.FrameCallback {
+        private long mLastFrameTimeNanos;
+        private long mDroppedFrames;
+
+        void start() {
+            mLastFrameTimeNanos = 0;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        void stop() {
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            // a frame later than one and a half intervals missed every vsync in between
+
+            if(mLastFrameTimeNanos != 0) {
+                long elapsed = frameTimeNanos - mLastFrameTimeNanos;
+                if(elapsed > FRAME_INTERVAL_NANOS * 3 / 2) {
+                    mDroppedFrames += elapsed / FRAME_INTERVAL_NANOS - 1;
+                }
+            }
+
+            mLastFrameTimeNanos = frameTimeNanos;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.nkrhelper.carousel;
+
+import android.content.Context;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import com.nkrhelper.mylibrary.carousel.CarouselConfig;
+import com.nkrhelper.mylibrary.carousel.CarouselMetrics;
+import com.nkrhelper.mylibrary.carousel.CarouselView;
+
+import java.util.ArrayList;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Vertical feed of auto playing carousels for the stress screen. Rows alternate between
+ * horizontal and vertical carousels and cycle through item counts up to the configured
+ * maximum, every carousel shares one recycled view pool and pages from a
+ * {@link ColorDataSource}.
+ */
+
+public class StressFeedAdapter extends RecyclerView.Adapter<StressFeedAdapter.CarouselRowHolder> {
+    private static final int[] ITEM_COUNTS = {5, 20, 100, 1000, 10000};
+    private static final int ROW_HORIZONTAL = 0;
+    private static final int ROW_VERTICAL = 1;
+
+    private final int mRowCount;
+    private final int mMaxItemCount;
+    private final long mLoadLatency;
+    private final RecyclerView.RecycledViewPool mPagePool = new RecyclerView.RecycledViewPool();
+    private final ArrayList<CarouselView> mCarouselViews = new ArrayList<>();
+    private long mRowBindCount;
+
+    public StressFeedAdapter(int rowCount, int maxItemCount, long loadLatency) {
+        mRowCount = rowCount;
+        mMaxItemCount = maxItemCount;
+        mLoadLatency = loadLatency;
+    }
+
+    public int getItemCount(int row) {
+        return Math.min(ITEM_COUNTS[row % ITEM_COUNTS.length], mMaxItemCount);
+    }
+
+    /**
+     * Returns the number of carousels created so far, rows are recycled so it stays close
+     * to the number of rows fitting on screen.
+     */
+    public int getCarouselCount() {
+        return mCarouselViews.size();
+    }
+
+    /**
+     * Row binds plus page binds of every carousel.
+     */
+    public long getBindCount() {
+        long bindCount = mRowBindCount;
+        for(CarouselView carouselView : mCarouselViews) {
+            CarouselMetrics metrics = carouselView.getMetrics();
+            if(metrics != null) {
+                bindCount += metrics.getBindCount();
+            }
+        }
+
+        return bindCount;
+    }
+
+    /**
+     * Inflated rows plus created pages of every carousel.
+     */
+    public long getInflationCount() {
+        long inflationCount = mCarouselViews.size();
+        for(CarouselView carouselView : mCarouselViews) {
+            CarouselMetrics metrics = carouselView.getMetrics();
+            if(metrics != null) {
+                inflationCount += metrics.getCreatedViewHolderCount();
+            }
+        }
+
+        return inflationCount;
+    }
+
+    @Override
+    public int getItemCount() {
+        return mRowCount;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return position % 2 == 0 ? ROW_HORIZONTAL : ROW_VERTICAL;
+    }
+
+    @Override
+    public CarouselRowHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        Context context = parent.getContext();
+        boolean horizontal = (viewType == ROW_HORIZONTAL);
+
+        CarouselConfig config = new CarouselConfig.Builder()
+                .setOrientation(horizontal ? CarouselView.HORIZONTAL : CarouselView.VERTICAL)
+                .setAutoPlay(true)
+                .setAutoPlayInterval(horizontal ? 2000 : 3000)
+                .setIndicatorMaxVisible(7)
+                .build();
+        CarouselView carouselView = new CarouselView(context, config);
+        carouselView.setMetricsEnabled(true);
+        carouselView.setRecycledViewPool(mPagePool);
+
+        int height = context.getResources().getDimensionPixelSize(horizontal
+                ? R.dimen.stress_row_height_horizontal : R.dimen.stress_row_height_vertical);
+        carouselView.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, height));
+
+        mCarouselViews.add(carouselView);
+        return new CarouselRowHolder(carouselView);
+    }
+
+    @Override
+    public void onBindViewHolder(CarouselRowHolder holder, int position) {
+        mRowBindCount++;
+
+        PagedColorItemAdapter adapter = new PagedColorItemAdapter();
+        adapter.setDataSource(new ColorDataSource(getItemCount(position), mLoadLatency));
+        holder.mCarouselView.setCarouselAdapter(adapter);
+    }
+
+    static class CarouselRowHolder extends RecyclerView.ViewHolder {
+        private final CarouselView mCarouselView;
+
+        CarouselRowHolder(CarouselView carouselView) {
+            super(carouselView);
+            mCarouselView = carouselView;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.nkrhelper.carousel;
+
+import android.content.Intent;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Scrolls the stress feed down and back up in fixed steps, advancing the main looper one
+ * frame per step so auto play and chunk loads keep running, and reports binds, inflations
+ * and step times. The report is written to
+ * {@code build/reports/stress/stress-report.txt}, compare it across revisions to catch
+ * scaling regressions.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class StressActivityTest {
+    private static final int ROW_COUNT = 60;
+    private static final int SCREEN_WIDTH = 1080;
+    private static final int SCREEN_HEIGHT = 1920;
+    private static final int SCROLL_STEP = 120;
+    private static final int SCROLL_STEPS = 400;
+    private static final long FRAME_TIME = 16;
+    private static final long SLOW_STEP_NANOS = 16000000;
+
+    @Test
+    public void scriptedScroll() throws Exception {
+        Intent intent = new Intent(RuntimeEnvironment.application, StressActivity.class)
+                .putExtra(StressActivity.EXTRA_ROW_COUNT, ROW_COUNT)
+                .putExtra(StressActivity.EXTRA_MAX_ITEM_COUNT, StressActivity.DEFAULT_MAX_ITEM_COUNT)
+                .putExtra(StressActivity.EXTRA_LOAD_LATENCY, 0L);
+        StressActivity activity = Robolectric.buildActivity(StressActivity.class, intent).setup().get();
+        View contentView = activity.getWindow().getDecorView();
+        RecyclerView feedView = activity.getFeedView();
+        layout(contentView);
+
+        // down the whole feed in the first half, back up in the second
+
+        long[] stepTimes = new long[SCROLL_STEPS];
+        for(int i = 0; i < SCROLL_STEPS; i++) {
+            long start = System.nanoTime();
+            feedView.scrollBy(0, i < SCROLL_STEPS / 2 ? SCROLL_STEP : -SCROLL_STEP);
+            layout(contentView);
+            ShadowLooper.idleMainLooper(FRAME_TIME);
+            stepTimes[i] = System.nanoTime() - start;
+        }
+
+        StressFeedAdapter feedAdapter = activity.getFeedAdapter();
+        String report = buildReport(feedAdapter, stepTimes);
+        writeReport(report);
+
+        assertTrue(feedAdapter.getBindCount() > 0);
+
+        // rows are recycled, far fewer carousels than rows are ever created
+
+        assertTrue(feedAdapter.getCarouselCount() < ROW_COUNT / 2);
+    }
+
+    private static void layout(View view) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(SCREEN_WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(SCREEN_HEIGHT, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+    }
+
+    private static String buildReport(StressFeedAdapter feedAdapter, long[] stepTimes) {
+        long[] sorted = Arrays.copyOf(stepTimes, stepTimes.length);
+        Arrays.sort(sorted);
+
+        int slowSteps = 0;
+        for(long stepTime : stepTimes) {
+            if(stepTime > SLOW_STEP_NANOS) {
+                slowSteps++;
+            }
+        }
+
+        return "stress report"
+                + "\n  rows: " + ROW_COUNT
+                + "\n  steps: " + stepTimes.length + " x " + SCROLL_STEP + " px"
+                + "\n  carousels created: " + feedAdapter.getCarouselCount()
+                + "\n  binds: " + feedAdapter.getBindCount()
+                + "\n  inflations: " + feedAdapter.getInflationCount()
+                + "\n  step time median: " + sorted[sorted.length / 2] / 1000 + " us"
+                + "\n  step time p95: " + sorted[sorted.length * 95 / 100] / 1000 + " us"
+                + "\n  step time max: " + sorted[sorted.length - 1] / 1000 + " us"
+                + "\n  slow steps (> 16 ms): " + slowSteps;
+    }
+
+    private static void writeReport(String report) throws IOException {
+        File reportDir = new File("build/reports/stress");
+        if(!reportDir.isDirectory() && !reportDir.mkdirs()) {
+            return;
+        }
+
+        FileWriter writer = new FileWriter(new File(reportDir, "stress-report.txt"));
+        try {
+            writer.write(report);
+            writer.write('\n');
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.nkrhelper.carouselcore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Adapter position to page index mapping, as done for every bind and scroll frame.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IndexMappingBenchmark {
+    private static final int POSITIONS = 1024;
+
+    @Param({"10", "1000", "100000"})
+    public int itemCount;
+
+    @Param({"0", "1"})
+    public int loopMode;
+
+    private int[] mPositions;
+
+    @Setup
+    public void setup() {
+        // positions around the start position, including both dummy items in edge mode
+
+        int startPosition = CarouselPositions.getStartPosition(itemCount, loopMode);
+        int positionCount = CarouselPositions.getItemCount(itemCount, loopMode);
+        mPositions = new int[POSITIONS];
+        for(int i = 0; i < POSITIONS; i++) {
+            long position = (long) startPosition - 1 + (i * 7919L) % (itemCount + 2);
+            mPositions[i] = (int) Math.max(0, Math.min(position, positionCount - 1L));
+        }
+    }
+
+    @Benchmark
+    public int getItemIndex() {
+        int sum = 0;
+        for(int position : mPositions) {
+            sum += CarouselPositions.getItemIndex(position, itemCount, loopMode);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int getWrapTarget() {
+        int positionCount = CarouselPositions.getItemCount(itemCount, loopMode);
+        int sum = 0;
+        for(int position : mPositions) {
+            sum += CarouselPositions.getWrapTarget(position, positionCount, loopMode);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,65 @@
+package com.nkrhelper.carouselcore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Per scroll frame work: mapping the first visible position, deduplicating the selected
+ * page and moving the indicator, for a swipe across every page of the carousel.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PageChangeBenchmark {
+    private static final int FRAMES_PER_PAGE = 16;
+
+    @Param({"10", "1000", "100000"})
+    public int itemCount;
+
+    private PageChangeTracker mTracker;
+    private IndicatorWindow mIndicatorWindow;
+    private int mPosition;
+    private int mFrame;
+
+    @Setup
+    public void setup() {
+        mTracker = new PageChangeTracker();
+        mIndicatorWindow = new IndicatorWindow();
+        mIndicatorWindow.setCount(itemCount);
+        mIndicatorWindow.setMaxVisibleCount(5);
+        mPosition = CarouselPositions.getStartPosition(itemCount, CarouselPositions.LOOP_EDGE_ITEMS);
+    }
+
+    @Benchmark
+    public boolean scrollFrame() {
+        // one frame of a swipe, the page changes every FRAMES_PER_PAGE frames
+
+        int positionCount = CarouselPositions.getItemCount(itemCount, CarouselPositions.LOOP_EDGE_ITEMS);
+        float offset = mFrame / (float) FRAMES_PER_PAGE;
+        if(++mFrame == FRAMES_PER_PAGE) {
+            mFrame = 0;
+            mPosition = CarouselPositions.getWrapTarget(mPosition + 1, positionCount, CarouselPositions.LOOP_EDGE_ITEMS);
+        }
+
+        int index = CarouselPositions.getItemIndex(mPosition, itemCount, CarouselPositions.LOOP_EDGE_ITEMS);
+        mIndicatorWindow.setProgress(index, offset);
+        return mTracker.select(offset >= 0.5f ? CarouselPositions.wrapIndex(index + 1, itemCount) : index);
+    }
+
+    @Benchmark
+    public float indicatorWindow() {
+        float windowStart = mIndicatorWindow.getWindowStart();
+        return windowStart + mIndicatorWindow.getScale(0.25f, windowStart);
+    }
+}
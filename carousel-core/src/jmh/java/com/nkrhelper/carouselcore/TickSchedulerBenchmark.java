@@ -0,0 +1,82 @@
+package com.nkrhelper.carouselcore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Shared auto play scheduler: finding the next deadline and dispatching a tick to every
+ * due carousel, with carousels spread over staggered or grouped deadlines.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TickSchedulerBenchmark {
+    private static final long INTERVAL = 5000;
+
+    @Param({"10", "100", "1000"})
+    public int carouselCount;
+
+    @Param({"false", "true"})
+    public boolean grouped;
+
+    private TickScheduler mScheduler;
+    private AutoPlayClock mClock;
+    private long mNow;
+
+    @Setup
+    public void setup() {
+        mScheduler = new TickScheduler();
+        mClock = new AutoPlayClock(INTERVAL);
+        mNow = 0;
+        for(int i = 0; i < carouselCount; i++) {
+            final AutoPlayClock clock = new AutoPlayClock(INTERVAL);
+            if(grouped) {
+                clock.setGroupOrigin(mScheduler.getGroupOrigin("group", 0));
+            }
+            clock.resume(i * 37L % INTERVAL);
+
+            mScheduler.register(new TickScheduler.Client() {
+                @Override
+                public long getTickDeadline() {
+                    return clock.getDeadline();
+                }
+
+                @Override
+                public void onTick(long now) {
+                    clock.advance(now);
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public long getNextDeadline() {
+        return mScheduler.getNextDeadline();
+    }
+
+    @Benchmark
+    public long dispatch() {
+        // jump straight to the next deadline, like the main thread handler does
+
+        mNow = mScheduler.getNextDeadline();
+        return mScheduler.dispatch(mNow);
+    }
+
+    @Benchmark
+    public long pauseResume() {
+        mClock.resume(mNow);
+        mClock.pause(mNow + INTERVAL / 3);
+        return mClock.getRemaining();
+    }
+}
@@ -0,0 +1,101 @@
+package com.nkrhelper.carouselcore;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Auto play timing of a single carousel. Keeps the time left of the current interval
+ * across pauses, or, when it belongs to a group, lines its deadlines up with the group
+ * origin so all members tick together. Intervals are clamped to {@link #MIN_INTERVAL}, a
+ * zero or negative one would make every tick due again right away.
+ */
+
+public final class AutoPlayClock {
+    public static final long MIN_INTERVAL = 100;
+
+    private static final long NO_GROUP = Long.MIN_VALUE;
+
+    private long mInterval;
+    private long mRemaining;
+    private long mDeadline;
+    private long mGroupOrigin;
+
+    public AutoPlayClock(long interval) {
+        mInterval = Math.max(interval, MIN_INTERVAL);
+        mRemaining = mInterval;
+        mDeadline = TickScheduler.NO_DEADLINE;
+        mGroupOrigin = NO_GROUP;
+    }
+
+    public long getInterval() {
+        return mInterval;
+    }
+
+    public void setInterval(long interval) {
+        mInterval = Math.max(interval, MIN_INTERVAL);
+        mRemaining = Math.min(mRemaining, mInterval);
+    }
+
+    public long getDeadline() {
+        return mDeadline;
+    }
+
+    public long getRemaining() {
+        return mRemaining;
+    }
+
+    public void setGroupOrigin(long groupOrigin) {
+        mGroupOrigin = groupOrigin;
+    }
+
+    public void clearGroup() {
+        mGroupOrigin = NO_GROUP;
+    }
+
+    public boolean isGrouped() {
+        return mGroupOrigin != NO_GROUP;
+    }
+
+    public void resume(long now) {
+        mDeadline = isGrouped() ? getNextGroupTick(now) : now + mRemaining;
+    }
+
+    public void pause(long now) {
+        mRemaining = Math.max(0, Math.min(mDeadline - now, mInterval));
+        mDeadline = TickScheduler.NO_DEADLINE;
+    }
+
+    public void reset() {
+        mRemaining = mInterval;
+    }
+
+    /**
+     * Moves the deadline past {@code now} after a tick. Ticks missed while the thread was
+     * blocked for more than an interval are skipped rather than fired in a burst.
+     */
+    public void advance(long now) {
+        if(isGrouped()) {
+            mDeadline = getNextGroupTick(now);
+            return;
+        }
+
+        mDeadline += mInterval;
+        if(mDeadline <= now) {
+            mDeadline = now + mInterval;
+        }
+    }
+
+    /**
+     * Moves the pending tick back to {@code deadline}. The interval after a postponed tick
+     * counts from the time it fired, grouped clocks rejoin the group on the following tick.
+     */
+    public void postpone(long deadline) {
+        if(deadline > mDeadline) {
+            mDeadline = deadline;
+        }
+    }
+
+    private long getNextGroupTick(long now) {
+        long elapsed = now - mGroupOrigin;
+        return mGroupOrigin + (elapsed / mInterval + 1) * mInterval;
+    }
+}
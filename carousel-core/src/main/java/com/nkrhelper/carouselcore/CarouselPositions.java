@@ -0,0 +1,141 @@
+package com.nkrhelper.carouselcore;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Position math of a looping carousel. Adapter positions include either two dummy edge
+ * items mirroring the last and the first page, or a large virtual position space mapped
+ * back to the pages by modulo. Without a loop positions are the page indices.
+ */
+
+public final class CarouselPositions {
+    public static final int NO_POSITION = -1;
+    public static final int LOOP_EDGE_ITEMS = 0;
+    public static final int LOOP_VIRTUAL = 1;
+    public static final int LOOP_NONE = 2;
+    public static final int VIRTUAL_ITEM_COUNT = Integer.MAX_VALUE;
+
+    private CarouselPositions() {
+    }
+
+    public static int getItemCount(int actualItemCount, int loopMode) {
+        if(actualItemCount <= 0) {
+            return 0;
+        }
+
+        if(loopMode == LOOP_NONE) {
+            return actualItemCount;
+        }
+
+        return loopMode == LOOP_VIRTUAL ? VIRTUAL_ITEM_COUNT : actualItemCount + 2;
+    }
+
+    /**
+     * Maps an adapter position to the index of the page it shows.
+     */
+    public static int getItemIndex(int position, int actualItemCount, int loopMode) {
+        if(actualItemCount <= 0) {
+            return 0;
+        }
+
+        if(loopMode == LOOP_VIRTUAL) {
+            return position % actualItemCount;
+        } else if(loopMode == LOOP_NONE) {
+            return Math.max(0, Math.min(position, actualItemCount - 1));
+        }
+
+        if(position == 0) {
+            return actualItemCount - 1;
+        } else if(position > 0 && position <= actualItemCount) {
+            return position - 1;
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * Adapter position of the first page when the carousel is shown.
+     */
+    public static int getStartPosition(int actualItemCount, int loopMode) {
+        if(loopMode == LOOP_VIRTUAL) {
+            // middle of the position space, aligned to the first page
+
+            int middle = VIRTUAL_ITEM_COUNT / 2;
+            return actualItemCount > 0 ? middle - middle % actualItemCount : 0;
+        }
+
+        return loopMode == LOOP_NONE ? 0 : 1;
+    }
+
+    /**
+     * Returns the position showing the same page as the settled {@code position} that is
+     * not a dummy edge item, or {@code position} itself when no jump is needed.
+     */
+    public static int getWrapTarget(int position, int itemCount, int loopMode) {
+        if(loopMode != LOOP_EDGE_ITEMS || itemCount <= 0) {
+            return position;
+        }
+
+        if(position == itemCount - 1) {
+            return 1;
+        } else if(position == 0) {
+            return itemCount - 2;
+        }
+
+        return position;
+    }
+
+    /**
+     * Wraps any, possibly negative, index into {@code [0, count)}.
+     */
+    public static int wrapIndex(int index, int count) {
+        if(count <= 0) {
+            return 0;
+        }
+
+        int wrapped = index % count;
+        return wrapped < 0 ? wrapped + count : wrapped;
+    }
+
+    /**
+     * Number of pages between two indices going the shorter way around the loop.
+     */
+    public static int getLoopDistance(int fromIndex, int toIndex, int count) {
+        if(count <= 0) {
+            return 0;
+        }
+
+        int distance = Math.abs(fromIndex - toIndex) % count;
+        return Math.min(distance, count - distance);
+    }
+
+    /**
+     * Signed number of pages from one index to another going the shorter way around the
+     * loop, positive values move forward.
+     */
+    public static int getLoopOffset(int fromIndex, int toIndex, int count) {
+        if(count <= 0) {
+            return 0;
+        }
+
+        int offset = wrapIndex(toIndex - fromIndex, count);
+        return offset > count / 2 ? offset - count : offset;
+    }
+
+    /**
+     * Returns the adapter position of page {@code index} closest to {@code position}, or
+     * {@link #NO_POSITION} for an empty carousel.
+     */
+    public static int getPositionForIndex(int index, int position, int actualItemCount, int loopMode) {
+        if(actualItemCount <= 0) {
+            return NO_POSITION;
+        }
+
+        if(loopMode == LOOP_VIRTUAL) {
+            int currentIndex = getItemIndex(position, actualItemCount, loopMode);
+            return position + getLoopOffset(currentIndex, index, actualItemCount);
+        }
+
+        return loopMode == LOOP_NONE ? index : index + 1;
+    }
+}
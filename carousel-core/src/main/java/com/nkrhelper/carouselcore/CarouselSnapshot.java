@@ -0,0 +1,200 @@
+package com.nkrhelper.carouselcore;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Binary snapshot of the pages a carousel last showed, the encoded page models keyed by
+ * page index plus the selected page. The file is memory mapped when read, page payloads
+ * are slices of the mapping and only copied when they are decoded.
+ *
+ * Layout, big endian: magic, version, item count, selected index, entry count, then per
+ * entry the page index, the payload length and the payload.
+ */
+
+public final class CarouselSnapshot {
+    private static final int MAGIC = 0x43534E50;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 5 * 4;
+    private static final int ENTRY_HEADER_SIZE = 2 * 4;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final int mItemCount;
+    private final int mSelectedIndex;
+    private final int[] mIndices;
+    private final int[] mOffsets;
+    private final int[] mLengths;
+    private final ByteBuffer mData;
+
+    private CarouselSnapshot(int itemCount, int selectedIndex, int[] indices, int[] offsets,
+                             int[] lengths, ByteBuffer data) {
+        mItemCount = itemCount;
+        mSelectedIndex = selectedIndex;
+        mIndices = indices;
+        mOffsets = offsets;
+        mLengths = lengths;
+        mData = data;
+    }
+
+    /**
+     * Maps and validates {@code file}, returns {@code null} when it does not exist, is
+     * truncated or was written by another format version.
+     */
+    public static CarouselSnapshot read(File file) {
+        if(!file.isFile()) {
+            return null;
+        }
+
+        RandomAccessFile randomAccessFile = null;
+        try {
+            randomAccessFile = new RandomAccessFile(file, "r");
+            FileChannel channel = randomAccessFile.getChannel();
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return parse(data);
+        } catch (IOException | BufferUnderflowException e) {
+            return null;
+        } finally {
+            // the mapping stays valid after the file is closed
+
+            closeQuietly(randomAccessFile);
+        }
+    }
+
+    /**
+     * Writes a snapshot to a temp file and renames it over {@code file}, so a crash never
+     * leaves a truncated snapshot behind. Returns false when writing failed.
+     *
+     * @param itemCount     number of pages of the carousel
+     * @param selectedIndex index of the selected page
+     * @param indices       page index of every payload
+     * @param payloads      encoded page models, same order as {@code indices}
+     */
+    public static boolean write(File file, int itemCount, int selectedIndex, int[] indices, byte[][] payloads) {
+        int entryCount = Math.min(indices.length, payloads.length);
+        int size = HEADER_SIZE;
+        for(int i = 0; i < entryCount; i++) {
+            size += ENTRY_HEADER_SIZE + payloads[i].length;
+        }
+
+        ByteBuffer data = ByteBuffer.allocate(size);
+        data.putInt(MAGIC).putInt(VERSION).putInt(itemCount).putInt(selectedIndex).putInt(entryCount);
+        for(int i = 0; i < entryCount; i++) {
+            data.putInt(indices[i]).putInt(payloads[i].length).put(payloads[i]);
+        }
+        data.flip();
+
+        File directory = file.getAbsoluteFile().getParentFile();
+        if(directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            return false;
+        }
+
+        File tempFile = new File(file.getPath() + TEMP_SUFFIX);
+        FileOutputStream outputStream = null;
+        try {
+            outputStream = new FileOutputStream(tempFile);
+            FileChannel channel = outputStream.getChannel();
+            while(data.hasRemaining()) {
+                channel.write(data);
+            }
+            outputStream.getFD().sync();
+        } catch (IOException e) {
+            closeQuietly(outputStream);
+            tempFile.delete();
+            return false;
+        }
+        closeQuietly(outputStream);
+
+        if(!tempFile.renameTo(file)) {
+            tempFile.delete();
+            return false;
+        }
+        return true;
+    }
+
+    public int getItemCount() {
+        return mItemCount;
+    }
+
+    public int getSelectedIndex() {
+        return mSelectedIndex;
+    }
+
+    public int getEntryCount() {
+        return mIndices.length;
+    }
+
+    /**
+     * Returns the page index of the payload at {@code entry}.
+     */
+    public int getIndex(int entry) {
+        return mIndices[entry];
+    }
+
+    /**
+     * Returns the entry holding the payload of the page at {@code index}, or -1.
+     */
+    public int findEntry(int index) {
+        for(int i = 0; i < mIndices.length; i++) {
+            if(mIndices[i] == index) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns a read only view of the payload at {@code entry}, positioned at its start.
+     */
+    public ByteBuffer getPayload(int entry) {
+        ByteBuffer payload = mData.duplicate();
+        payload.position(mOffsets[entry]);
+        payload.limit(mOffsets[entry] + mLengths[entry]);
+        return payload.slice().asReadOnlyBuffer();
+    }
+
+    private static CarouselSnapshot parse(ByteBuffer data) {
+        if(data.remaining() < HEADER_SIZE || data.getInt() != MAGIC || data.getInt() != VERSION) {
+            return null;
+        }
+
+        int itemCount = data.getInt();
+        int selectedIndex = data.getInt();
+        int entryCount = data.getInt();
+        if(itemCount < 0 || entryCount < 0 || entryCount > data.remaining() / ENTRY_HEADER_SIZE) {
+            return null;
+        }
+
+        int[] indices = new int[entryCount];
+        int[] offsets = new int[entryCount];
+        int[] lengths = new int[entryCount];
+        for(int i = 0; i < entryCount; i++) {
+            indices[i] = data.getInt();
+            lengths[i] = data.getInt();
+            offsets[i] = data.position();
+            if(lengths[i] < 0 || lengths[i] > data.remaining()) {
+                return null;
+            }
+            data.position(offsets[i] + lengths[i]);
+        }
+
+        return new CarouselSnapshot(itemCount, selectedIndex, indices, offsets, lengths, data);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if(closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.nkrhelper.carouselcore;
+
+import java.util.List;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Chunk bookkeeping of a paged carousel. Items are loaded in fixed size chunks when one of
+ * their pages is bound, a page close to either end of its chunk requests the neighbouring
+ * chunk, wrapping around the loop. At most a budget of items is kept, the chunks furthest
+ * from the last bound one are evicted first. Every load carries the generation it was
+ * requested in, results for a replaced data set are dropped. Used from one thread.
+ */
+
+public final class ChunkWindow<T> {
+    private final int mChunkSize;
+    private final Loader mLoader;
+    private int mMaxLoadedItems;
+    private int mItemCount;
+    private int mGeneration;
+    private int mCurrentChunk;
+    private int[] mLoadedChunks = new int[4];
+    private Object[] mLoadedItems = new Object[4];
+    private int mLoadedCount;
+    private int[] mLoadingChunks = new int[4];
+    private int mLoadingCount;
+
+    public interface Loader {
+        /**
+         * Starts loading {@code count} items from {@code start}, the result is handed to
+         * {@link ChunkWindow#onChunkLoaded(int, int, List)} with the same generation.
+         */
+        void loadChunk(int chunk, int start, int count, int generation);
+    }
+
+    public ChunkWindow(int chunkSize, int maxLoadedItems, Loader loader) {
+        mChunkSize = Math.max(chunkSize, 1);
+        mMaxLoadedItems = maxLoadedItems;
+        mLoader = loader;
+    }
+
+    /**
+     * Drops every chunk for a new data set of {@code itemCount} items, loads still running
+     * are ignored when they arrive.
+     */
+    public void reset(int itemCount) {
+        mGeneration++;
+        mItemCount = Math.max(itemCount, 0);
+        mCurrentChunk = 0;
+        for(int i = 0; i < mLoadedCount; i++) {
+            mLoadedItems[i] = null;
+        }
+        mLoadedCount = 0;
+        mLoadingCount = 0;
+    }
+
+    /**
+     * Memory budget in items, rounded down to whole chunks. At least two chunks are kept so
+     * the chunk being bound and the one ahead of it are never evicted.
+     */
+    public void setMaxLoadedItems(int maxLoadedItems) {
+        mMaxLoadedItems = maxLoadedItems;
+        trimToBudget();
+    }
+
+    public int getMaxLoadedItems() {
+        return mMaxLoadedItems;
+    }
+
+    public int getChunkSize() {
+        return mChunkSize;
+    }
+
+    public int getItemCount() {
+        return mItemCount;
+    }
+
+    public int getGeneration() {
+        return mGeneration;
+    }
+
+    public int getChunkCount() {
+        return (mItemCount + mChunkSize - 1) / mChunkSize;
+    }
+
+    public int getLoadedChunkCount() {
+        return mLoadedCount;
+    }
+
+    public int getChunk(int index) {
+        return index / mChunkSize;
+    }
+
+    public boolean isLoaded(int index) {
+        return indexOf(mLoadedChunks, mLoadedCount, getChunk(index)) >= 0;
+    }
+
+    public boolean isLoading(int chunk) {
+        return indexOf(mLoadingChunks, mLoadingCount, chunk) >= 0;
+    }
+
+    /**
+     * Returns the item at {@code index}, or {@code null} while its chunk is not loaded.
+     * Does not start a load.
+     */
+    @SuppressWarnings("unchecked")
+    public T getItem(int index) {
+        int chunk = getChunk(index);
+        int i = indexOf(mLoadedChunks, mLoadedCount, chunk);
+        return i >= 0 ? ((List<T>) mLoadedItems[i]).get(index - chunk * mChunkSize) : null;
+    }
+
+    /**
+     * Makes the chunk of the bound page at {@code index} the current one and requests it,
+     * plus its neighbour when the page is close to either end of the chunk.
+     */
+    public void bind(int index) {
+        int chunk = getChunk(index);
+        mCurrentChunk = chunk;
+        requestChunk(chunk);
+
+        int chunkCount = getChunkCount();
+        if(chunkCount <= 1) {
+            return;
+        }
+
+        int chunkStart = chunk * mChunkSize;
+        int chunkLength = getChunkLength(chunk);
+        int margin = Math.max(chunkLength / 4, 1);
+        int offset = index - chunkStart;
+        if(offset >= chunkLength - margin) {
+            requestChunk(CarouselPositions.wrapIndex(chunk + 1, chunkCount));
+        } else if(offset < margin) {
+            requestChunk(CarouselPositions.wrapIndex(chunk - 1, chunkCount));
+        }
+    }
+
+    /**
+     * Stores a loaded chunk. Returns true when it was kept, false when it belongs to an
+     * older generation, failed ({@code null} or short) or was evicted right away. A failed
+     * chunk is requested again by the next bind of one of its pages.
+     */
+    public boolean onChunkLoaded(int generation, int chunk, List<T> items) {
+        if(generation != mGeneration) {
+            return false;
+        }
+
+        int loading = indexOf(mLoadingChunks, mLoadingCount, chunk);
+        if(loading >= 0) {
+            mLoadingChunks[loading] = mLoadingChunks[--mLoadingCount];
+        }
+
+        if(items == null || items.size() < getChunkLength(chunk)) {
+            return false;
+        }
+
+        if(mLoadedCount == mLoadedChunks.length) {
+            int[] chunks = new int[mLoadedCount * 2];
+            Object[] loadedItems = new Object[mLoadedCount * 2];
+            System.arraycopy(mLoadedChunks, 0, chunks, 0, mLoadedCount);
+            System.arraycopy(mLoadedItems, 0, loadedItems, 0, mLoadedCount);
+            mLoadedChunks = chunks;
+            mLoadedItems = loadedItems;
+        }
+        mLoadedChunks[mLoadedCount] = chunk;
+        mLoadedItems[mLoadedCount] = items;
+        mLoadedCount++;
+
+        trimToBudget();
+        return indexOf(mLoadedChunks, mLoadedCount, chunk) >= 0;
+    }
+
+    /**
+     * Keeps only the current chunk, returns the number of released items.
+     */
+    public int trimToCurrent() {
+        int released = 0;
+        for(int i = mLoadedCount - 1; i >= 0; i--) {
+            if(mLoadedChunks[i] != mCurrentChunk) {
+                released += ((List<?>) mLoadedItems[i]).size();
+                removeLoaded(i);
+            }
+        }
+
+        return released;
+    }
+
+    private int getChunkLength(int chunk) {
+        return Math.min(mChunkSize, mItemCount - chunk * mChunkSize);
+    }
+
+    private void requestChunk(int chunk) {
+        if(indexOf(mLoadedChunks, mLoadedCount, chunk) >= 0 || indexOf(mLoadingChunks, mLoadingCount, chunk) >= 0) {
+            return;
+        }
+
+        if(mLoadingCount == mLoadingChunks.length) {
+            int[] chunks = new int[mLoadingCount * 2];
+            System.arraycopy(mLoadingChunks, 0, chunks, 0, mLoadingCount);
+            mLoadingChunks = chunks;
+        }
+        mLoadingChunks[mLoadingCount++] = chunk;
+        mLoader.loadChunk(chunk, chunk * mChunkSize, getChunkLength(chunk), mGeneration);
+    }
+
+    private void trimToBudget() {
+        int maxChunks = Math.max(mMaxLoadedItems / mChunkSize, 2);
+        int chunkCount = getChunkCount();
+
+        while(mLoadedCount > maxChunks) {
+            int furthest = 0;
+            int furthestDistance = -1;
+            for(int i = 0; i < mLoadedCount; i++) {
+                int distance = CarouselPositions.getLoopDistance(mLoadedChunks[i], mCurrentChunk, chunkCount);
+                if(distance > furthestDistance) {
+                    furthestDistance = distance;
+                    furthest = i;
+                }
+            }
+
+            removeLoaded(furthest);
+        }
+    }
+
+    private void removeLoaded(int i) {
+        mLoadedCount--;
+        mLoadedChunks[i] = mLoadedChunks[mLoadedCount];
+        mLoadedItems[i] = mLoadedItems[mLoadedCount];
+        mLoadedItems[mLoadedCount] = null;
+    }
+
+    private static int indexOf(int[] chunks, int count, int chunk) {
+        for(int i = 0; i < count; i++) {
+            if(chunks[i] == chunk) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,156 @@
+package com.nkrhelper.carouselcore;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Decides whether an auto play tick is postponed because the UI thread is under pressure,
+ * either recent frames missed their deadline or another view was scrolled a moment ago.
+ * Consecutive postponements back off exponentially and are bounded, after
+ * {@link Builder#setMaxDeferrals(int)} of them the tick fires anyway.
+ */
+
+public final class DeferralPolicy {
+    public static final DeferralPolicy DEFAULT = new Builder().build();
+    public static final DeferralPolicy NEVER = new Builder().setMaxDeferrals(0).build();
+
+    private final long mFrameDeadlineNanos;
+    private final int mFrameWindow;
+    private final int mMaxMissedFrames;
+    private final long mScrollQuietTime;
+    private final long mInitialBackoff;
+    private final long mMaxBackoff;
+    private final int mMaxDeferrals;
+
+    private DeferralPolicy(Builder builder) {
+        mFrameDeadlineNanos = builder.mFrameDeadlineNanos;
+        mFrameWindow = builder.mFrameWindow;
+        mMaxMissedFrames = builder.mMaxMissedFrames;
+        mScrollQuietTime = builder.mScrollQuietTime;
+        mInitialBackoff = builder.mInitialBackoff;
+        mMaxBackoff = builder.mMaxBackoff;
+        mMaxDeferrals = builder.mMaxDeferrals;
+    }
+
+    /**
+     * Returns how long to postpone a due tick, or 0 to fire it now.
+     *
+     * @param frames recent frames of the UI thread
+     * @param sinceLastScroll time since another view was last scrolled
+     * @param deferrals number of times the tick was already postponed
+     */
+    public long getDeferral(FrameHistory frames, long sinceLastScroll, int deferrals) {
+        if(deferrals >= mMaxDeferrals) {
+            return 0;
+        }
+
+        boolean busy = sinceLastScroll < mScrollQuietTime
+                || frames.countMissed(mFrameWindow, mFrameDeadlineNanos) > mMaxMissedFrames;
+        if(!busy) {
+            return 0;
+        }
+
+        return Math.min(mInitialBackoff << Math.min(deferrals, 30), mMaxBackoff);
+    }
+
+    public long getFrameDeadlineNanos() {
+        return mFrameDeadlineNanos;
+    }
+
+    public int getFrameWindow() {
+        return mFrameWindow;
+    }
+
+    public int getMaxMissedFrames() {
+        return mMaxMissedFrames;
+    }
+
+    public long getScrollQuietTime() {
+        return mScrollQuietTime;
+    }
+
+    public long getInitialBackoff() {
+        return mInitialBackoff;
+    }
+
+    public long getMaxBackoff() {
+        return mMaxBackoff;
+    }
+
+    public int getMaxDeferrals() {
+        return mMaxDeferrals;
+    }
+
+    public Builder buildUpon() {
+        return new Builder(this);
+    }
+
+    public static final class Builder {
+        private long mFrameDeadlineNanos = 25000000L;
+        private int mFrameWindow = 8;
+        private int mMaxMissedFrames = 1;
+        private long mScrollQuietTime = 300;
+        private long mInitialBackoff = 200;
+        private long mMaxBackoff = 1600;
+        private int mMaxDeferrals = 5;
+
+        public Builder() {
+        }
+
+        private Builder(DeferralPolicy policy) {
+            mFrameDeadlineNanos = policy.mFrameDeadlineNanos;
+            mFrameWindow = policy.mFrameWindow;
+            mMaxMissedFrames = policy.mMaxMissedFrames;
+            mScrollQuietTime = policy.mScrollQuietTime;
+            mInitialBackoff = policy.mInitialBackoff;
+            mMaxBackoff = policy.mMaxBackoff;
+            mMaxDeferrals = policy.mMaxDeferrals;
+        }
+
+        /**
+         * A frame counts as missed when it took longer than {@code deadlineNanos}, 25 ms
+         * by default, one and a half frames at 60 Hz.
+         */
+        public Builder setFrameDeadlineNanos(long deadlineNanos) {
+            mFrameDeadlineNanos = deadlineNanos;
+            return this;
+        }
+
+        /**
+         * Postpones when more than {@code maxMissedFrames} of the last {@code frameWindow}
+         * frames were missed.
+         */
+        public Builder setMissedFrames(int frameWindow, int maxMissedFrames) {
+            mFrameWindow = frameWindow;
+            mMaxMissedFrames = maxMissedFrames;
+            return this;
+        }
+
+        /**
+         * Postpones while another view was scrolled less than {@code quietTime}
+         * milliseconds ago, 0 ignores scrolling.
+         */
+        public Builder setScrollQuietTime(long quietTime) {
+            mScrollQuietTime = quietTime;
+            return this;
+        }
+
+        /**
+         * The first postponement lasts {@code initialBackoff} milliseconds, every further
+         * one doubles it up to {@code maxBackoff}.
+         */
+        public Builder setBackoff(long initialBackoff, long maxBackoff) {
+            mInitialBackoff = initialBackoff;
+            mMaxBackoff = maxBackoff;
+            return this;
+        }
+
+        public Builder setMaxDeferrals(int maxDeferrals) {
+            mMaxDeferrals = maxDeferrals;
+            return this;
+        }
+
+        public DeferralPolicy build() {
+            return new DeferralPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.nkrhelper.carouselcore;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Fixed size ring of the most recent frame durations, fed with the vsync timestamps of
+ * consecutive frames. Recording never allocates.
+ */
+
+public final class FrameHistory {
+    private static final long NO_FRAME = Long.MIN_VALUE;
+
+    private final long[] mDurations;
+    private int mNext;
+    private int mCount;
+    private long mLastFrameTime;
+
+    public FrameHistory(int capacity) {
+        mDurations = new long[Math.max(capacity, 1)];
+        mLastFrameTime = NO_FRAME;
+    }
+
+    public void record(long frameTimeNanos) {
+        if(mLastFrameTime != NO_FRAME) {
+            mDurations[mNext] = frameTimeNanos - mLastFrameTime;
+            mNext = (mNext + 1) % mDurations.length;
+            mCount = Math.min(mCount + 1, mDurations.length);
+        }
+
+        mLastFrameTime = frameTimeNanos;
+    }
+
+    /**
+     * Forgets all frames, the next recorded frame only starts a new duration.
+     */
+    public void reset() {
+        mNext = 0;
+        mCount = 0;
+        mLastFrameTime = NO_FRAME;
+    }
+
+    public int getFrameCount() {
+        return mCount;
+    }
+
+    /**
+     * Counts how many of the last {@code frames} frames took longer than
+     * {@code deadlineNanos}.
+     */
+    public int countMissed(int frames, long deadlineNanos) {
+        int count = Math.min(frames, mCount);
+        int missed = 0;
+        for(int i = 1; i <= count; i++) {
+            int index = (mNext - i + mDurations.length) % mDurations.length;
+            if(mDurations[index] > deadlineNanos) {
+                missed++;
+            }
+        }
+
+        return missed;
+    }
+}
@@ -0,0 +1,68 @@
+package com.nkrhelper.carouselcore;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Reusable batch of page impressions drained from an {@link ImpressionBuffer}. Only valid
+ * until the consumer it was handed to returns, copy what has to be kept.
+ */
+
+public final class ImpressionBatch {
+    final int[] mIndices;
+    final long[] mStartTimes;
+    final long[] mDwellTimes;
+    final float[] mVisibleFractions;
+    int mSize;
+    long mDroppedCount;
+
+    public ImpressionBatch(int capacity) {
+        mIndices = new int[capacity];
+        mStartTimes = new long[capacity];
+        mDwellTimes = new long[capacity];
+        mVisibleFractions = new float[capacity];
+    }
+
+    public int getCapacity() {
+        return mIndices.length;
+    }
+
+    public int getSize() {
+        return mSize;
+    }
+
+    /**
+     * Page index of the {@code i}-th impression.
+     */
+    public int getIndex(int i) {
+        return mIndices[i];
+    }
+
+    /**
+     * Wall clock time in milliseconds the page became visible.
+     */
+    public long getStartTime(int i) {
+        return mStartTimes[i];
+    }
+
+    /**
+     * Milliseconds the page stayed visible.
+     */
+    public long getDwellTime(int i) {
+        return mDwellTimes[i];
+    }
+
+    /**
+     * Largest visible fraction (0..1) of the page while it was visible.
+     */
+    public float getVisibleFraction(int i) {
+        return mVisibleFractions[i];
+    }
+
+    /**
+     * Impressions overwritten in the buffer before they could be drained, since the
+     * previous batch.
+     */
+    public long getDroppedCount() {
+        return mDroppedCount;
+    }
+}
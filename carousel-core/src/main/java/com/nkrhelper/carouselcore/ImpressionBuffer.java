@@ -0,0 +1,76 @@
+package com.nkrhelper.carouselcore;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Preallocated ring buffer of page impressions, written by the UI thread and drained by a
+ * background thread. Adding never allocates, when the buffer is full the oldest
+ * impression is overwritten and counted as dropped.
+ */
+
+public final class ImpressionBuffer {
+    private final int[] mIndices;
+    private final long[] mStartTimes;
+    private final long[] mDwellTimes;
+    private final float[] mVisibleFractions;
+    private int mHead;
+    private int mSize;
+    private long mDroppedCount;
+
+    public ImpressionBuffer(int capacity) {
+        capacity = Math.max(capacity, 1);
+        mIndices = new int[capacity];
+        mStartTimes = new long[capacity];
+        mDwellTimes = new long[capacity];
+        mVisibleFractions = new float[capacity];
+    }
+
+    public int getCapacity() {
+        return mIndices.length;
+    }
+
+    /**
+     * Appends an impression and returns the number of buffered impressions.
+     */
+    public synchronized int add(int index, long startTime, long dwellTime, float visibleFraction) {
+        mIndices[mHead] = index;
+        mStartTimes[mHead] = startTime;
+        mDwellTimes[mHead] = dwellTime;
+        mVisibleFractions[mHead] = visibleFraction;
+        mHead = (mHead + 1) % mIndices.length;
+
+        if(mSize == mIndices.length) {
+            mDroppedCount++;
+        } else {
+            mSize++;
+        }
+
+        return mSize;
+    }
+
+    public synchronized int size() {
+        return mSize;
+    }
+
+    /**
+     * Moves the oldest impressions into {@code batch}, as many as it holds.
+     */
+    public synchronized void drainTo(ImpressionBatch batch) {
+        int capacity = mIndices.length;
+        int count = Math.min(mSize, batch.getCapacity());
+        int tail = (mHead - mSize + capacity) % capacity;
+
+        for(int i = 0; i < count; i++) {
+            int slot = (tail + i) % capacity;
+            batch.mIndices[i] = mIndices[slot];
+            batch.mStartTimes[i] = mStartTimes[slot];
+            batch.mDwellTimes[i] = mDwellTimes[slot];
+            batch.mVisibleFractions[i] = mVisibleFractions[slot];
+        }
+
+        batch.mSize = count;
+        batch.mDroppedCount = mDroppedCount;
+        mSize -= count;
+        mDroppedCount = 0;
+    }
+}
@@ -0,0 +1,118 @@
+package com.nkrhelper.carouselcore;
+
+/**
+ * Created 18/10/2026.
+ *
+ * State of a page indicator: the selected dot, its scroll offset towards the next one
+ * and the window of dots shown when only a limited number fits.
+ */
+
+public final class IndicatorWindow {
+    private static final float EDGE_SCALE = 0.5f;
+
+    private int mCount;
+    private int mMaxVisibleCount;
+    private int mPosition;
+    private float mOffset;
+
+    public int getCount() {
+        return mCount;
+    }
+
+    public int getPosition() {
+        return mPosition;
+    }
+
+    public float getOffset() {
+        return mOffset;
+    }
+
+    /**
+     * Returns true when the number of visible dots changed.
+     */
+    public boolean setCount(int count) {
+        int previousVisibleCount = getVisibleCount();
+        mCount = Math.max(count, 0);
+
+        if(mPosition >= mCount) {
+            mPosition = 0;
+            mOffset = 0f;
+        }
+
+        return getVisibleCount() != previousVisibleCount;
+    }
+
+    /**
+     * Limits the number of dots shown at once, zero or a negative value shows all of
+     * them. Returns true when the number of visible dots changed.
+     */
+    public boolean setMaxVisibleCount(int maxVisibleCount) {
+        int previousVisibleCount = getVisibleCount();
+        mMaxVisibleCount = maxVisibleCount;
+        return getVisibleCount() != previousVisibleCount;
+    }
+
+    /**
+     * Returns true when the selected dot moved.
+     */
+    public boolean setProgress(int position, float offset) {
+        if(mCount == 0) {
+            return false;
+        }
+
+        position = CarouselPositions.wrapIndex(position, mCount);
+        if(position == mPosition && offset == mOffset) {
+            return false;
+        }
+
+        mPosition = position;
+        mOffset = offset;
+        return true;
+    }
+
+    public int getVisibleCount() {
+        if(mMaxVisibleCount > 0 && mMaxVisibleCount < mCount) {
+            return mMaxVisibleCount;
+        }
+
+        return mCount;
+    }
+
+    /**
+     * Fractional index of the first visible dot, the window follows the selected dot and
+     * stops at both ends.
+     */
+    public float getWindowStart() {
+        int visibleCount = getVisibleCount();
+        if(visibleCount >= mCount) {
+            return 0f;
+        }
+
+        float windowStart = mPosition + mOffset - (visibleCount - 1) / 2f;
+        return Math.max(0f, Math.min(windowStart, mCount - visibleCount));
+    }
+
+    /**
+     * True while the selected dot moves from the last dot back to the first one.
+     */
+    public boolean isWrapping() {
+        return mPosition == mCount - 1 && mOffset > 0f;
+    }
+
+    /**
+     * Scale of a dot at {@code slot} dots from the window start. Dots at an edge of the
+     * window shrink when more dots are hidden behind it, a scale of 0 or less hides them.
+     */
+    public float getScale(float slot, float windowStart) {
+        int visibleCount = getVisibleCount();
+        float scale = 1f;
+        if(windowStart > 0f) {
+            scale = Math.min(scale, EDGE_SCALE + EDGE_SCALE * slot);
+        }
+        if(windowStart < mCount - visibleCount) {
+            scale = Math.min(scale, EDGE_SCALE + EDGE_SCALE * (visibleCount - 1 - slot));
+        }
+
+        return scale;
+    }
+}
@@ -0,0 +1,51 @@
+package com.nkrhelper.carouselcore;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Remembers the selected and the settled page so page change events are only reported
+ * when the index actually changes.
+ */
+
+public final class PageChangeTracker {
+    private int mSelectedIndex = CarouselPositions.NO_POSITION;
+    private int mSettledIndex = CarouselPositions.NO_POSITION;
+
+    public int getSelectedIndex() {
+        return mSelectedIndex;
+    }
+
+    public int getSettledIndex() {
+        return mSettledIndex;
+    }
+
+    /**
+     * Returns true when {@code index} differs from the selected page.
+     */
+    public boolean select(int index) {
+        if(index == mSelectedIndex) {
+            return false;
+        }
+
+        mSelectedIndex = index;
+        return true;
+    }
+
+    /**
+     * Returns true when {@code index} differs from the settled page, or when
+     * {@code scrollFinished} since every finished scroll is reported.
+     */
+    public boolean settle(int index, boolean scrollFinished) {
+        if(!scrollFinished && index == mSettledIndex) {
+            return false;
+        }
+
+        mSettledIndex = index;
+        return true;
+    }
+
+    public void reset() {
+        mSelectedIndex = CarouselPositions.NO_POSITION;
+        mSettledIndex = CarouselPositions.NO_POSITION;
+    }
+}
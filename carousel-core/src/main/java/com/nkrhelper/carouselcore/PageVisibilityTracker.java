@@ -0,0 +1,95 @@
+package com.nkrhelper.carouselcore;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Remembers which page indices are on screen and reports the pages which appeared or
+ * disappeared since the previous update. An index is visible while any copy of the page
+ * is, so the dummy edge items and the jump over them never report a change. Does not
+ * allocate once the visible set reached its largest size.
+ */
+
+public final class PageVisibilityTracker {
+    private int[] mVisible = new int[8];
+    private int mVisibleCount;
+    private int[] mNext = new int[8];
+    private int mNextCount;
+
+    public interface Callback {
+        void onPageVisible(int index);
+        void onPageHidden(int index);
+    }
+
+    /**
+     * Starts collecting the pages visible now, followed by {@link #markVisible(int)} for
+     * each of them and {@link #endUpdate(Callback)}.
+     */
+    public void beginUpdate() {
+        mNextCount = 0;
+    }
+
+    public void markVisible(int index) {
+        if(indexOf(mNext, mNextCount, index) >= 0) {
+            return;
+        }
+
+        if(mNextCount == mNext.length) {
+            int[] next = new int[mNext.length * 2];
+            System.arraycopy(mNext, 0, next, 0, mNextCount);
+            mNext = next;
+        }
+        mNext[mNextCount++] = index;
+    }
+
+    /**
+     * Makes the collected pages the visible ones and reports the hidden pages first, then
+     * the newly visible ones.
+     */
+    public void endUpdate(Callback callback) {
+        int[] previous = mVisible;
+        int previousCount = mVisibleCount;
+        mVisible = mNext;
+        mVisibleCount = mNextCount;
+        mNext = previous;
+        mNextCount = 0;
+
+        // the state is committed before the callbacks, so they may query it
+
+        for(int i = 0; i < previousCount; i++) {
+            if(indexOf(mVisible, mVisibleCount, previous[i]) < 0) {
+                callback.onPageHidden(previous[i]);
+            }
+        }
+        for(int i = 0; i < mVisibleCount; i++) {
+            if(indexOf(previous, previousCount, mVisible[i]) < 0) {
+                callback.onPageVisible(mVisible[i]);
+            }
+        }
+    }
+
+    /**
+     * Reports every visible page as hidden, e.g. when the carousel leaves the screen.
+     */
+    public void clear(Callback callback) {
+        beginUpdate();
+        endUpdate(callback);
+    }
+
+    public boolean isVisible(int index) {
+        return indexOf(mVisible, mVisibleCount, index) >= 0;
+    }
+
+    public int getVisibleCount() {
+        return mVisibleCount;
+    }
+
+    private static int indexOf(int[] indices, int count, int index) {
+        for(int i = 0; i < count; i++) {
+            if(indices[i] == index) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
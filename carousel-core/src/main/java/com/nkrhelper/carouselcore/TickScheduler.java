@@ -0,0 +1,95 @@
+package com.nkrhelper.carouselcore;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Deadline bookkeeping of a shared tick source. Clients report their next deadline, the
+ * owner waits until {@link #getNextDeadline()} and then calls {@link #dispatch(long)}.
+ * Dispatching does not allocate once the dispatch buffer fits all clients. Not thread
+ * safe, all calls must come from the same thread.
+ */
+
+public final class TickScheduler {
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    public interface Client {
+        long getTickDeadline();
+        void onTick(long now);
+    }
+
+    private final ArrayList<Client> mClients;
+    private final HashMap<String, Long> mGroupOrigins;
+    private Client[] mDispatchBuffer;
+
+    public TickScheduler() {
+        mClients = new ArrayList<>();
+        mGroupOrigins = new HashMap<>();
+        mDispatchBuffer = new Client[8];
+    }
+
+    public void register(Client client) {
+        if(!mClients.contains(client)) {
+            mClients.add(client);
+        }
+    }
+
+    public boolean unregister(Client client) {
+        return mClients.remove(client);
+    }
+
+    public int getClientCount() {
+        return mClients.size();
+    }
+
+    /**
+     * Returns the earliest deadline of all clients, or {@link #NO_DEADLINE}.
+     */
+    public long getNextDeadline() {
+        long nextDeadline = NO_DEADLINE;
+        for(int i = 0, count = mClients.size(); i < count; i++) {
+            nextDeadline = Math.min(nextDeadline, mClients.get(i).getTickDeadline());
+        }
+
+        return nextDeadline;
+    }
+
+    /**
+     * Ticks every client whose deadline has passed and returns the next deadline.
+     */
+    public long dispatch(long now) {
+        // clients may unregister while ticking, dispatch from a reused copy
+
+        int count = mClients.size();
+        if(mDispatchBuffer.length < count) {
+            mDispatchBuffer = new Client[Math.max(count, mDispatchBuffer.length * 2)];
+        }
+        mClients.toArray(mDispatchBuffer);
+
+        for(int i = 0; i < count; i++) {
+            Client client = mDispatchBuffer[i];
+            mDispatchBuffer[i] = null;
+            if(client.getTickDeadline() <= now) {
+                client.onTick(now);
+            }
+        }
+
+        return getNextDeadline();
+    }
+
+    /**
+     * Returns the time every member of {@code group} counts its interval from, the first
+     * member to ask defines it.
+     */
+    public long getGroupOrigin(String group, long now) {
+        Long origin = mGroupOrigins.get(group);
+        if(origin == null) {
+            origin = now;
+            mGroupOrigins.put(group, origin);
+        }
+
+        return origin;
+    }
+}
@@ -0,0 +1,98 @@
+package com.nkrhelper.carouselcore;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created 18/10/2026.
+ */
+public class AutoPlayClockTest {
+    private final AutoPlayClock mClock = new AutoPlayClock(1000);
+
+    @Test
+    public void pauseKeepsTimeLeft() {
+        assertEquals(TickScheduler.NO_DEADLINE, mClock.getDeadline());
+
+        mClock.resume(0);
+        assertEquals(1000, mClock.getDeadline());
+        mClock.pause(400);
+        assertEquals(600, mClock.getRemaining());
+        assertEquals(TickScheduler.NO_DEADLINE, mClock.getDeadline());
+        mClock.resume(2000);
+        assertEquals(2600, mClock.getDeadline());
+
+        // an overdue tick fires right after resuming
+
+        mClock.pause(3000);
+        assertEquals(0, mClock.getRemaining());
+        mClock.reset();
+        assertEquals(1000, mClock.getRemaining());
+    }
+
+    @Test
+    public void advanceSkipsMissedTicks() {
+        mClock.resume(0);
+        mClock.advance(1000);
+        assertEquals(2000, mClock.getDeadline());
+        mClock.advance(2050);
+        assertEquals(3000, mClock.getDeadline());
+        mClock.advance(5500);
+        assertEquals(6500, mClock.getDeadline());
+    }
+
+    @Test
+    public void groupedTicksLineUpWithOrigin() {
+        mClock.setGroupOrigin(100);
+        assertTrue(mClock.isGrouped());
+
+        mClock.resume(350);
+        assertEquals(1100, mClock.getDeadline());
+        mClock.advance(1100);
+        assertEquals(2100, mClock.getDeadline());
+        mClock.advance(3500);
+        assertEquals(4100, mClock.getDeadline());
+
+        mClock.clearGroup();
+        assertFalse(mClock.isGrouped());
+        mClock.advance(4100);
+        assertEquals(5100, mClock.getDeadline());
+    }
+
+    @Test
+    public void postponeOnlyMovesDeadlineBack() {
+        mClock.resume(0);
+        mClock.postpone(1200);
+        assertEquals(1200, mClock.getDeadline());
+        mClock.postpone(900);
+        assertEquals(1200, mClock.getDeadline());
+    }
+
+    @Test
+    public void shorterIntervalCapsTimeLeft() {
+        mClock.setInterval(500);
+        assertEquals(500, mClock.getInterval());
+        assertEquals(500, mClock.getRemaining());
+        mClock.setInterval(2000);
+        assertEquals(500, mClock.getRemaining());
+    }
+
+    @Test
+    public void intervalIsClamped() {
+        AutoPlayClock clock = new AutoPlayClock(0);
+        assertEquals(AutoPlayClock.MIN_INTERVAL, clock.getInterval());
+        clock.resume(0);
+        assertEquals(AutoPlayClock.MIN_INTERVAL, clock.getDeadline());
+
+        clock.setInterval(-5);
+        assertEquals(AutoPlayClock.MIN_INTERVAL, clock.getInterval());
+
+        // every tick moves the deadline past now, also for grouped clocks
+
+        clock.setGroupOrigin(0);
+        for(long now = 0; now < 1000; now += 50) {
+            clock.advance(now);
+            assertTrue(clock.getDeadline() > now);
+        }
+    }
+}
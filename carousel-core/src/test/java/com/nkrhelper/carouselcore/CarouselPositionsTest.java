@@ -0,0 +1,156 @@
+package com.nkrhelper.carouselcore;
+
+import org.junit.Test;
+
+import static com.nkrhelper.carouselcore.CarouselPositions.*;
+import static org.junit.Assert.*;
+
+/**
+ * Created 18/10/2026.
+ */
+public class CarouselPositionsTest {
+    @Test
+    public void emptyCarousel() {
+        for(int loopMode : new int[] {LOOP_EDGE_ITEMS, LOOP_VIRTUAL, LOOP_NONE}) {
+            assertEquals(0, getItemCount(0, loopMode));
+            assertEquals(0, getItemIndex(3, 0, loopMode));
+            assertEquals(NO_POSITION, getPositionForIndex(0, 3, 0, loopMode));
+        }
+        assertEquals(5, getWrapTarget(5, 0, LOOP_EDGE_ITEMS));
+    }
+
+    @Test
+    public void edgeItemsSinglePage() {
+        assertEquals(3, getItemCount(1, LOOP_EDGE_ITEMS));
+        assertEquals(1, getStartPosition(1, LOOP_EDGE_ITEMS));
+        for(int position = 0; position < 3; position++) {
+            assertEquals(0, getItemIndex(position, 1, LOOP_EDGE_ITEMS));
+            assertEquals(1, getWrapTarget(position, 3, LOOP_EDGE_ITEMS));
+        }
+        assertEquals(1, getPositionForIndex(0, 2, 1, LOOP_EDGE_ITEMS));
+    }
+
+    @Test
+    public void edgeItemsTwoPages() {
+        assertEquals(4, getItemCount(2, LOOP_EDGE_ITEMS));
+        assertEquals(1, getItemIndex(0, 2, LOOP_EDGE_ITEMS));
+        assertEquals(0, getItemIndex(1, 2, LOOP_EDGE_ITEMS));
+        assertEquals(1, getItemIndex(2, 2, LOOP_EDGE_ITEMS));
+        assertEquals(0, getItemIndex(3, 2, LOOP_EDGE_ITEMS));
+
+        assertEquals(2, getWrapTarget(0, 4, LOOP_EDGE_ITEMS));
+        assertEquals(1, getWrapTarget(1, 4, LOOP_EDGE_ITEMS));
+        assertEquals(2, getWrapTarget(2, 4, LOOP_EDGE_ITEMS));
+        assertEquals(1, getWrapTarget(3, 4, LOOP_EDGE_ITEMS));
+
+        assertEquals(1, getPositionForIndex(0, 3, 2, LOOP_EDGE_ITEMS));
+        assertEquals(2, getPositionForIndex(1, 0, 2, LOOP_EDGE_ITEMS));
+    }
+
+    @Test
+    public void edgeItemsManyPages() {
+        assertEquals(7, getItemCount(5, LOOP_EDGE_ITEMS));
+
+        // the dummy items mirror the last and the first page
+
+        assertEquals(4, getItemIndex(0, 5, LOOP_EDGE_ITEMS));
+        assertEquals(0, getItemIndex(1, 5, LOOP_EDGE_ITEMS));
+        assertEquals(4, getItemIndex(5, 5, LOOP_EDGE_ITEMS));
+        assertEquals(0, getItemIndex(6, 5, LOOP_EDGE_ITEMS));
+
+        assertEquals(5, getWrapTarget(0, 7, LOOP_EDGE_ITEMS));
+        assertEquals(1, getWrapTarget(6, 7, LOOP_EDGE_ITEMS));
+        for(int position = 1; position <= 5; position++) {
+            assertEquals(position, getWrapTarget(position, 7, LOOP_EDGE_ITEMS));
+            assertEquals(position, getPositionForIndex(position - 1, 3, 5, LOOP_EDGE_ITEMS));
+        }
+    }
+
+    @Test
+    public void virtualStartsAtFirstPage() {
+        for(int actualItemCount : new int[] {1, 2, 5, 7}) {
+            int start = getStartPosition(actualItemCount, LOOP_VIRTUAL);
+            assertEquals(0, getItemIndex(start, actualItemCount, LOOP_VIRTUAL));
+            assertTrue(start > VIRTUAL_ITEM_COUNT / 4);
+            assertTrue(start <= VIRTUAL_ITEM_COUNT / 2);
+        }
+        assertEquals(VIRTUAL_ITEM_COUNT, getItemCount(1, LOOP_VIRTUAL));
+    }
+
+    @Test
+    public void virtualNeverWraps() {
+        int start = getStartPosition(5, LOOP_VIRTUAL);
+        assertEquals(start - 1, getWrapTarget(start - 1, VIRTUAL_ITEM_COUNT, LOOP_VIRTUAL));
+        assertEquals(0, getWrapTarget(0, VIRTUAL_ITEM_COUNT, LOOP_VIRTUAL));
+        assertEquals(VIRTUAL_ITEM_COUNT - 1, getWrapTarget(VIRTUAL_ITEM_COUNT - 1, VIRTUAL_ITEM_COUNT, LOOP_VIRTUAL));
+    }
+
+    @Test
+    public void virtualPositionForIndexTakesShorterWay() {
+        int start = getStartPosition(1, LOOP_VIRTUAL);
+        assertEquals(start, getPositionForIndex(0, start, 1, LOOP_VIRTUAL));
+
+        start = getStartPosition(2, LOOP_VIRTUAL);
+        assertEquals(start + 1, getPositionForIndex(1, start, 2, LOOP_VIRTUAL));
+        assertEquals(start + 2, getPositionForIndex(0, start + 1, 2, LOOP_VIRTUAL));
+
+        start = getStartPosition(5, LOOP_VIRTUAL);
+        assertEquals(start, getPositionForIndex(0, start, 5, LOOP_VIRTUAL));
+        assertEquals(start + 2, getPositionForIndex(2, start, 5, LOOP_VIRTUAL));
+        assertEquals(start - 2, getPositionForIndex(3, start, 5, LOOP_VIRTUAL));
+        assertEquals(start - 1, getPositionForIndex(4, start, 5, LOOP_VIRTUAL));
+        assertEquals(start + 6, getPositionForIndex(1, start + 4, 5, LOOP_VIRTUAL));
+    }
+
+    @Test
+    public void withoutLoopPositionsArePageIndices() {
+        assertEquals(1, getItemCount(1, LOOP_NONE));
+        assertEquals(5, getItemCount(5, LOOP_NONE));
+        assertEquals(0, getStartPosition(5, LOOP_NONE));
+
+        assertEquals(0, getItemIndex(-1, 5, LOOP_NONE));
+        assertEquals(3, getItemIndex(3, 5, LOOP_NONE));
+        assertEquals(4, getItemIndex(9, 5, LOOP_NONE));
+        assertEquals(0, getItemIndex(1, 1, LOOP_NONE));
+
+        assertEquals(0, getWrapTarget(0, 5, LOOP_NONE));
+        assertEquals(4, getWrapTarget(4, 5, LOOP_NONE));
+        assertEquals(4, getPositionForIndex(4, 0, 5, LOOP_NONE));
+        assertEquals(1, getPositionForIndex(1, 0, 2, LOOP_NONE));
+    }
+
+    @Test
+    public void wrapIndex() {
+        assertEquals(0, CarouselPositions.wrapIndex(7, 0));
+        assertEquals(0, CarouselPositions.wrapIndex(-3, 1));
+        assertEquals(1, CarouselPositions.wrapIndex(-1, 2));
+        assertEquals(0, CarouselPositions.wrapIndex(2, 2));
+        assertEquals(4, CarouselPositions.wrapIndex(-1, 5));
+        assertEquals(4, CarouselPositions.wrapIndex(-6, 5));
+        assertEquals(0, CarouselPositions.wrapIndex(5, 5));
+        assertEquals(3, CarouselPositions.wrapIndex(13, 5));
+    }
+
+    @Test
+    public void loopDistanceGoesTheShorterWay() {
+        assertEquals(0, getLoopDistance(4, 0, 0));
+        assertEquals(0, getLoopDistance(0, 0, 1));
+        assertEquals(1, getLoopDistance(0, 1, 2));
+        assertEquals(1, getLoopDistance(1, 0, 2));
+        assertEquals(1, getLoopDistance(0, 4, 5));
+        assertEquals(1, getLoopDistance(4, 0, 5));
+        assertEquals(2, getLoopDistance(0, 3, 5));
+        assertEquals(2, getLoopDistance(1, 3, 5));
+        assertEquals(3, getLoopDistance(0, 3, 6));
+    }
+
+    @Test
+    public void loopOffsetIsSigned() {
+        assertEquals(1, getLoopOffset(4, 0, 5));
+        assertEquals(-1, getLoopOffset(0, 4, 5));
+        assertEquals(-2, getLoopOffset(0, 3, 5));
+        assertEquals(1, getLoopOffset(0, 1, 2));
+        assertEquals(1, getLoopOffset(1, 0, 2));
+        assertEquals(0, getLoopOffset(0, 0, 1));
+    }
+}
@@ -0,0 +1,76 @@
+package com.nkrhelper.carouselcore;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created 18/10/2026.
+ */
+public class CarouselSnapshotTest {
+    @Rule
+    public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void writeThenRead() throws Exception {
+        File file = new File(mTemporaryFolder.getRoot(), "snapshots/carousel.snapshot");
+        byte[][] payloads = {{1, 2, 3}, {}, {4}};
+        assertTrue(CarouselSnapshot.write(file, 10, 9, new int[] {8, 9, 0}, payloads));
+
+        CarouselSnapshot snapshot = CarouselSnapshot.read(file);
+        assertNotNull(snapshot);
+        assertEquals(10, snapshot.getItemCount());
+        assertEquals(9, snapshot.getSelectedIndex());
+        assertEquals(3, snapshot.getEntryCount());
+        assertEquals(2, snapshot.findEntry(0));
+        assertEquals(-1, snapshot.findEntry(5));
+
+        for(int i = 0; i < payloads.length; i++) {
+            ByteBuffer payload = snapshot.getPayload(i);
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            assertArrayEquals(payloads[i], bytes);
+        }
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void missingFile() throws Exception {
+        assertNull(CarouselSnapshot.read(new File(mTemporaryFolder.getRoot(), "missing")));
+    }
+
+    @Test
+    public void truncatedFile() throws Exception {
+        File file = mTemporaryFolder.newFile();
+        assertTrue(CarouselSnapshot.write(file, 2, 0, new int[] {0, 1}, new byte[][] {{1, 2}, {3, 4}}));
+
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            randomAccessFile.setLength(randomAccessFile.length() - 1);
+        } finally {
+            randomAccessFile.close();
+        }
+
+        assertNull(CarouselSnapshot.read(file));
+    }
+
+    @Test
+    public void foreignFile() throws Exception {
+        File file = mTemporaryFolder.newFile();
+        FileOutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(new byte[] {'n', 'o', 't', ' ', 'a', ' ', 's', 'n', 'a', 'p', 's', 'h', 'o', 't', '!', '!', '!', '!', '!', '!'});
+        } finally {
+            outputStream.close();
+        }
+
+        assertNull(CarouselSnapshot.read(file));
+    }
+}
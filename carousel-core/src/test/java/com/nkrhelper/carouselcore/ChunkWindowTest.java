@@ -0,0 +1,187 @@
+package com.nkrhelper.carouselcore;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created 18/10/2026.
+ */
+public class ChunkWindowTest {
+    private final ArrayList<int[]> mRequests = new ArrayList<>();
+    private ChunkWindow<Integer> mWindow;
+
+    @Before
+    public void setUp() {
+        mWindow = new ChunkWindow<>(10, 100, new ChunkWindow.Loader() {
+            @Override
+            public void loadChunk(int chunk, int start, int count, int generation) {
+                mRequests.add(new int[] {chunk, start, count, generation});
+            }
+        });
+        mWindow.reset(95);
+    }
+
+    @Test
+    public void loadsChunkOfBoundPage() {
+        mWindow.bind(15);
+        assertEquals(1, mRequests.size());
+        assertArrayEquals(new int[] {1, 10, 10, mWindow.getGeneration()}, mRequests.get(0));
+        assertTrue(mWindow.isLoading(1));
+        assertFalse(mWindow.isLoaded(15));
+        assertNull(mWindow.getItem(15));
+
+        // a page bound again while its chunk is loading does not request it twice
+
+        mWindow.bind(14);
+        assertEquals(1, mRequests.size());
+
+        assertTrue(complete(0));
+        assertTrue(mWindow.isLoaded(15));
+        assertFalse(mWindow.isLoading(1));
+        assertEquals(Integer.valueOf(15), mWindow.getItem(15));
+    }
+
+    @Test
+    public void lastChunkIsShort() {
+        mWindow.bind(94);
+        assertArrayEquals(new int[] {9, 90, 5, mWindow.getGeneration()}, mRequests.get(0));
+    }
+
+    @Test
+    public void requestsNeighbourNearChunkEnds() {
+        mWindow.bind(38);
+        assertEquals(2, mRequests.size());
+        assertEquals(3, mRequests.get(0)[0]);
+        assertEquals(4, mRequests.get(1)[0]);
+
+        // chunk 4 is already loading
+
+        mRequests.clear();
+        mWindow.bind(51);
+        assertEquals(1, mRequests.size());
+        assertEquals(5, mRequests.get(0)[0]);
+
+        mRequests.clear();
+        mWindow.bind(65);
+        assertEquals(1, mRequests.size());
+        assertEquals(6, mRequests.get(0)[0]);
+    }
+
+    @Test
+    public void prefetchWrapsAroundTheLoop() {
+        mWindow.bind(94);
+        assertEquals(2, mRequests.size());
+        assertEquals(9, mRequests.get(0)[0]);
+        assertEquals(0, mRequests.get(1)[0]);
+
+        mWindow.reset(95);
+        mRequests.clear();
+        mWindow.bind(0);
+        assertEquals(2, mRequests.size());
+        assertEquals(0, mRequests.get(0)[0]);
+        assertEquals(9, mRequests.get(1)[0]);
+    }
+
+    @Test
+    public void dropsLoadsOfOlderGeneration() {
+        mWindow.bind(5);
+        int[] request = mRequests.get(0);
+        mWindow.reset(95);
+        assertFalse(mWindow.isLoading(0));
+
+        assertFalse(mWindow.onChunkLoaded(request[3], request[0], items(request[1], request[2])));
+        assertFalse(mWindow.isLoaded(5));
+        assertEquals(0, mWindow.getLoadedChunkCount());
+    }
+
+    @Test
+    public void failedLoadIsRequestedAgain() {
+        mWindow.bind(5);
+        int[] request = mRequests.get(0);
+        assertFalse(mWindow.onChunkLoaded(request[3], request[0], null));
+        assertFalse(mWindow.isLoading(0));
+
+        mWindow.bind(5);
+        assertEquals(2, mRequests.size());
+        assertFalse(mWindow.onChunkLoaded(request[3], request[0], items(0, 3)));
+        assertFalse(mWindow.isLoaded(5));
+    }
+
+    @Test
+    public void evictsChunksFurthestFromBoundPage() {
+        mWindow.setMaxLoadedItems(30);
+        for(int index : new int[] {5, 15, 25}) {
+            mWindow.bind(index);
+            completeAll();
+        }
+        assertEquals(3, mWindow.getLoadedChunkCount());
+
+        // chunk 0 is further from chunk 3 than chunks 1 and 2
+
+        mWindow.bind(35);
+        completeAll();
+        assertEquals(3, mWindow.getLoadedChunkCount());
+        assertFalse(mWindow.isLoaded(5));
+        assertTrue(mWindow.isLoaded(15));
+        assertTrue(mWindow.isLoaded(35));
+
+        // the distance wraps around the loop, chunks 9 and 0 are kept next to each other
+
+        mWindow.bind(94);
+        completeAll();
+        mWindow.bind(2);
+        completeAll();
+        assertTrue(mWindow.isLoaded(2));
+        assertTrue(mWindow.isLoaded(94));
+        assertFalse(mWindow.isLoaded(25));
+    }
+
+    @Test
+    public void budgetKeepsTwoChunks() {
+        mWindow.setMaxLoadedItems(0);
+        mWindow.bind(5);
+        completeAll();
+        mWindow.bind(15);
+        completeAll();
+        assertEquals(2, mWindow.getLoadedChunkCount());
+        assertTrue(mWindow.isLoaded(5));
+        assertTrue(mWindow.isLoaded(15));
+    }
+
+    @Test
+    public void trimToCurrentKeepsBoundChunk() {
+        mWindow.bind(5);
+        completeAll();
+        mWindow.bind(15);
+        completeAll();
+
+        assertEquals(10, mWindow.trimToCurrent());
+        assertEquals(1, mWindow.getLoadedChunkCount());
+        assertTrue(mWindow.isLoaded(15));
+    }
+
+    private boolean complete(int request) {
+        int[] r = mRequests.get(request);
+        return mWindow.onChunkLoaded(r[3], r[0], items(r[1], r[2]));
+    }
+
+    private void completeAll() {
+        for(int i = 0; i < mRequests.size(); i++) {
+            complete(i);
+        }
+        mRequests.clear();
+    }
+
+    private static List<Integer> items(int start, int count) {
+        List<Integer> items = new ArrayList<>(count);
+        for(int i = start; i < start + count; i++) {
+            items.add(i);
+        }
+        return items;
+    }
+}
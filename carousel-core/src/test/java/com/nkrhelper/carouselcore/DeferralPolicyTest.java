@@ -0,0 +1,100 @@
+package com.nkrhelper.carouselcore;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created 18/10/2026.
+ */
+public class DeferralPolicyTest {
+    private static final long MS = 1000000L;
+
+    private FrameHistory mFrames;
+    private long mFrameTime;
+
+    @Before
+    public void setUp() {
+        mFrames = new FrameHistory(8);
+        recordFrames(16, 16, 16, 16);
+    }
+
+    @Test
+    public void firesWhenIdle() {
+        assertEquals(0, DeferralPolicy.DEFAULT.getDeferral(mFrames, 1000, 0));
+    }
+
+    @Test
+    public void recentScrollBacksOffExponentially() {
+        DeferralPolicy policy = DeferralPolicy.DEFAULT;
+        assertEquals(200, policy.getDeferral(mFrames, 100, 0));
+        assertEquals(400, policy.getDeferral(mFrames, 100, 1));
+        assertEquals(800, policy.getDeferral(mFrames, 100, 2));
+        assertEquals(1600, policy.getDeferral(mFrames, 100, 3));
+        assertEquals(1600, policy.getDeferral(mFrames, 100, 4));
+
+        // the tick fires anyway after the last allowed postponement
+
+        assertEquals(0, policy.getDeferral(mFrames, 100, 5));
+    }
+
+    @Test
+    public void missedFramesPostpone() {
+        recordFrames(40);
+        assertEquals(0, DeferralPolicy.DEFAULT.getDeferral(mFrames, 1000, 0));
+        recordFrames(40);
+        assertEquals(200, DeferralPolicy.DEFAULT.getDeferral(mFrames, 1000, 0));
+    }
+
+    @Test
+    public void neverPostpones() {
+        recordFrames(40, 40, 40);
+        assertEquals(0, DeferralPolicy.NEVER.getDeferral(mFrames, 0, 0));
+    }
+
+    @Test
+    public void backoffDoesNotOverflow() {
+        DeferralPolicy policy = new DeferralPolicy.Builder().setMaxDeferrals(100).build();
+        assertEquals(1600, policy.getDeferral(mFrames, 0, 40));
+        assertEquals(1600, policy.getDeferral(mFrames, 0, 99));
+    }
+
+    @Test
+    public void buildUponKeepsOtherSettings() {
+        DeferralPolicy policy = DeferralPolicy.DEFAULT.buildUpon()
+                .setScrollQuietTime(0)
+                .build();
+        assertEquals(0, policy.getScrollQuietTime());
+        assertEquals(0, policy.getDeferral(mFrames, 0, 0));
+
+        DeferralPolicy defaults = DeferralPolicy.DEFAULT;
+        assertEquals(defaults.getFrameDeadlineNanos(), policy.getFrameDeadlineNanos());
+        assertEquals(defaults.getFrameWindow(), policy.getFrameWindow());
+        assertEquals(defaults.getMaxMissedFrames(), policy.getMaxMissedFrames());
+        assertEquals(defaults.getInitialBackoff(), policy.getInitialBackoff());
+        assertEquals(defaults.getMaxBackoff(), policy.getMaxBackoff());
+        assertEquals(defaults.getMaxDeferrals(), policy.getMaxDeferrals());
+    }
+
+    @Test
+    public void customThresholds() {
+        DeferralPolicy policy = new DeferralPolicy.Builder()
+                .setFrameDeadlineNanos(10 * MS)
+                .setMissedFrames(2, 0)
+                .setBackoff(50, 100)
+                .build();
+        assertEquals(50, policy.getDeferral(mFrames, 1000, 0));
+        assertEquals(100, policy.getDeferral(mFrames, 1000, 2));
+    }
+
+    private void recordFrames(long... durations) {
+        if(mFrames.getFrameCount() == 0) {
+            mFrames.record(mFrameTime);
+        }
+        for(long duration : durations) {
+            mFrameTime += duration * MS;
+            mFrames.record(mFrameTime);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.nkrhelper.carouselcore;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created 18/10/2026.
+ */
+public class FrameHistoryTest {
+    private static final long MS = 1000000L;
+
+    @Test
+    public void firstFrameOnlyStartsDuration() {
+        FrameHistory history = new FrameHistory(4);
+        history.record(0);
+        assertEquals(0, history.getFrameCount());
+        history.record(16 * MS);
+        assertEquals(1, history.getFrameCount());
+    }
+
+    @Test
+    public void countsMissedAmongLastFrames() {
+        FrameHistory history = new FrameHistory(4);
+        history.record(0);
+        history.record(16 * MS);
+        history.record(48 * MS);
+
+        assertEquals(1, history.countMissed(8, 25 * MS));
+        assertEquals(1, history.countMissed(1, 25 * MS));
+        assertEquals(0, history.countMissed(1, 40 * MS));
+        assertEquals(2, history.countMissed(2, 10 * MS));
+    }
+
+    @Test
+    public void oldFramesAreOverwritten() {
+        FrameHistory history = new FrameHistory(4);
+        history.record(0);
+        history.record(50 * MS);
+        for(int i = 1; i <= 6; i++) {
+            history.record((50 + 16 * i) * MS);
+        }
+
+        assertEquals(4, history.getFrameCount());
+        assertEquals(0, history.countMissed(8, 25 * MS));
+    }
+
+    @Test
+    public void resetForgetsFrames() {
+        FrameHistory history = new FrameHistory(4);
+        history.record(0);
+        history.record(50 * MS);
+        history.reset();
+        assertEquals(0, history.getFrameCount());
+
+        history.record(500 * MS);
+        assertEquals(0, history.getFrameCount());
+        assertEquals(0, history.countMissed(8, 25 * MS));
+    }
+
+    @Test
+    public void keepsAtLeastOneFrame() {
+        FrameHistory history = new FrameHistory(0);
+        history.record(0);
+        history.record(40 * MS);
+        history.record(50 * MS);
+        assertEquals(1, history.getFrameCount());
+        assertEquals(0, history.countMissed(8, 25 * MS));
+    }
+}
@@ -0,0 +1,116 @@
+package com.nkrhelper.carouselcore;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created 18/10/2026.
+ */
+public class IndicatorWindowTest {
+    private static final float DELTA = 0.0001f;
+
+    private IndicatorWindow mWindow;
+
+    @Before
+    public void setUp() {
+        mWindow = new IndicatorWindow();
+    }
+
+    @Test
+    public void countChangesVisibleDots() {
+        assertTrue(mWindow.setCount(5));
+        assertFalse(mWindow.setCount(5));
+        assertEquals(5, mWindow.getVisibleCount());
+
+        assertTrue(mWindow.setMaxVisibleCount(3));
+        assertEquals(3, mWindow.getVisibleCount());
+
+        // a limit above the count shows all dots
+
+        assertTrue(mWindow.setMaxVisibleCount(10));
+        assertEquals(5, mWindow.getVisibleCount());
+        assertFalse(mWindow.setMaxVisibleCount(0));
+        assertEquals(5, mWindow.getVisibleCount());
+
+        assertTrue(mWindow.setCount(-1));
+        assertEquals(0, mWindow.getCount());
+    }
+
+    @Test
+    public void progressWrapsIntoCount() {
+        assertFalse(mWindow.setProgress(1, 0f));
+
+        mWindow.setCount(5);
+        assertTrue(mWindow.setProgress(2, 0.5f));
+        assertFalse(mWindow.setProgress(2, 0.5f));
+        assertTrue(mWindow.setProgress(7, 0f));
+        assertEquals(2, mWindow.getPosition());
+        assertEquals(0f, mWindow.getOffset(), DELTA);
+        assertTrue(mWindow.setProgress(-1, 0f));
+        assertEquals(4, mWindow.getPosition());
+    }
+
+    @Test
+    public void shrinkingCountResetsPosition() {
+        mWindow.setCount(7);
+        mWindow.setProgress(6, 0.3f);
+        mWindow.setCount(4);
+        assertEquals(0, mWindow.getPosition());
+        assertEquals(0f, mWindow.getOffset(), DELTA);
+    }
+
+    @Test
+    public void wrappingFromLastDot() {
+        mWindow.setCount(4);
+        mWindow.setProgress(3, 0f);
+        assertFalse(mWindow.isWrapping());
+        mWindow.setProgress(3, 0.2f);
+        assertTrue(mWindow.isWrapping());
+        mWindow.setProgress(2, 0.2f);
+        assertFalse(mWindow.isWrapping());
+    }
+
+    @Test
+    public void windowFollowsSelectedDotAndStopsAtEnds() {
+        mWindow.setCount(7);
+        assertEquals(0f, mWindow.getWindowStart(), DELTA);
+
+        mWindow.setMaxVisibleCount(3);
+        mWindow.setProgress(0, 0f);
+        assertEquals(0f, mWindow.getWindowStart(), DELTA);
+        mWindow.setProgress(3, 0.5f);
+        assertEquals(2.5f, mWindow.getWindowStart(), DELTA);
+        mWindow.setProgress(6, 0f);
+        assertEquals(4f, mWindow.getWindowStart(), DELTA);
+    }
+
+    @Test
+    public void edgeDotsShrinkTowardsHiddenDots() {
+        mWindow.setCount(7);
+        mWindow.setMaxVisibleCount(3);
+
+        // at the start only the end of the window hides dots
+
+        assertEquals(1f, mWindow.getScale(0f, 0f), DELTA);
+        assertEquals(1f, mWindow.getScale(1f, 0f), DELTA);
+        assertEquals(0.5f, mWindow.getScale(2f, 0f), DELTA);
+
+        assertEquals(0.5f, mWindow.getScale(0f, 2.5f), DELTA);
+        assertEquals(1f, mWindow.getScale(1f, 2.5f), DELTA);
+        assertEquals(0.5f, mWindow.getScale(2f, 2.5f), DELTA);
+        assertEquals(0f, mWindow.getScale(-1f, 2.5f), DELTA);
+
+        assertEquals(0.5f, mWindow.getScale(0f, 4f), DELTA);
+        assertEquals(1f, mWindow.getScale(2f, 4f), DELTA);
+    }
+
+    @Test
+    public void allDotsFullSizeWithoutLimit() {
+        mWindow.setCount(3);
+        for(int slot = 0; slot < 3; slot++) {
+            assertEquals(1f, mWindow.getScale(slot, mWindow.getWindowStart()), DELTA);
+        }
+    }
+}
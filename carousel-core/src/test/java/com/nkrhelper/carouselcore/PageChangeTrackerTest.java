@@ -0,0 +1,51 @@
+package com.nkrhelper.carouselcore;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created 18/10/2026.
+ */
+public class PageChangeTrackerTest {
+    private final PageChangeTracker mTracker = new PageChangeTracker();
+
+    @Test
+    public void startsWithoutPage() {
+        assertEquals(CarouselPositions.NO_POSITION, mTracker.getSelectedIndex());
+        assertEquals(CarouselPositions.NO_POSITION, mTracker.getSettledIndex());
+    }
+
+    @Test
+    public void selectReportsOnlyChanges() {
+        assertTrue(mTracker.select(0));
+        assertFalse(mTracker.select(0));
+        assertTrue(mTracker.select(1));
+        assertEquals(1, mTracker.getSelectedIndex());
+
+        // selecting does not settle
+
+        assertEquals(CarouselPositions.NO_POSITION, mTracker.getSettledIndex());
+    }
+
+    @Test
+    public void settleReportsChangesAndFinishedScrolls() {
+        assertTrue(mTracker.settle(2, false));
+        assertFalse(mTracker.settle(2, false));
+        assertTrue(mTracker.settle(2, true));
+        assertTrue(mTracker.settle(3, false));
+        assertEquals(3, mTracker.getSettledIndex());
+    }
+
+    @Test
+    public void resetReportsTheSamePageAgain() {
+        mTracker.select(1);
+        mTracker.settle(1, false);
+        mTracker.reset();
+
+        assertEquals(CarouselPositions.NO_POSITION, mTracker.getSelectedIndex());
+        assertEquals(CarouselPositions.NO_POSITION, mTracker.getSettledIndex());
+        assertTrue(mTracker.select(1));
+        assertTrue(mTracker.settle(1, false));
+    }
+}
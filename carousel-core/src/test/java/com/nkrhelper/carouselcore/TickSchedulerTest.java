@@ -0,0 +1,100 @@
+package com.nkrhelper.carouselcore;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created 18/10/2026.
+ */
+public class TickSchedulerTest {
+    private final TickScheduler mScheduler = new TickScheduler();
+
+    @Test
+    public void registersClientsOnce() {
+        TestClient client = new TestClient(100);
+        mScheduler.register(client);
+        mScheduler.register(client);
+        assertEquals(1, mScheduler.getClientCount());
+
+        assertTrue(mScheduler.unregister(client));
+        assertFalse(mScheduler.unregister(client));
+        assertEquals(0, mScheduler.getClientCount());
+    }
+
+    @Test
+    public void nextDeadlineIsEarliestClient() {
+        assertEquals(TickScheduler.NO_DEADLINE, mScheduler.getNextDeadline());
+
+        mScheduler.register(new TestClient(300));
+        mScheduler.register(new TestClient(100));
+        mScheduler.register(new TestClient(TickScheduler.NO_DEADLINE));
+        assertEquals(100, mScheduler.getNextDeadline());
+    }
+
+    @Test
+    public void dispatchTicksOnlyDueClients() {
+        TestClient early = new TestClient(100);
+        TestClient late = new TestClient(300);
+        mScheduler.register(early);
+        mScheduler.register(late);
+
+        assertEquals(300, mScheduler.dispatch(150));
+        assertEquals(1, early.mTicks);
+        assertEquals(150, early.mLastTick);
+        assertEquals(0, late.mTicks);
+
+        assertEquals(TickScheduler.NO_DEADLINE, mScheduler.dispatch(300));
+        assertEquals(1, early.mTicks);
+        assertEquals(1, late.mTicks);
+    }
+
+    @Test
+    public void clientsMayUnregisterWhileTicking() {
+        TestClient[] clients = new TestClient[20];
+        for(int i = 0; i < clients.length; i++) {
+            clients[i] = new TestClient(100);
+            clients[i].mUnregisterOnTick = i % 2 == 0;
+            mScheduler.register(clients[i]);
+        }
+
+        mScheduler.dispatch(100);
+        for(TestClient client : clients) {
+            assertEquals(1, client.mTicks);
+        }
+        assertEquals(10, mScheduler.getClientCount());
+    }
+
+    @Test
+    public void firstGroupMemberDefinesOrigin() {
+        assertEquals(1000, mScheduler.getGroupOrigin("banners", 1000));
+        assertEquals(1000, mScheduler.getGroupOrigin("banners", 2500));
+        assertEquals(2500, mScheduler.getGroupOrigin("offers", 2500));
+    }
+
+    private class TestClient implements TickScheduler.Client {
+        long mDeadline;
+        int mTicks;
+        long mLastTick;
+        boolean mUnregisterOnTick;
+
+        TestClient(long deadline) {
+            mDeadline = deadline;
+        }
+
+        @Override
+        public long getTickDeadline() {
+            return mDeadline;
+        }
+
+        @Override
+        public void onTick(long now) {
+            mTicks++;
+            mLastTick = now;
+            mDeadline = TickScheduler.NO_DEADLINE;
+            if(mUnregisterOnTick) {
+                mScheduler.unregister(this);
+            }
+        }
+    }
+}
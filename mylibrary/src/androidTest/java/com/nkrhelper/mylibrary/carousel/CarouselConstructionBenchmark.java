@@ -0,0 +1,66 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+
+import com.nkrhelper.mylibrary.test.R;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Compares the median construction time of a carousel created in code from a
+ * {@link CarouselConfig} with inflating the same configuration, measured in the same run
+ * since there is no older revision to compare with.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CarouselConstructionBenchmark {
+    @Test
+    public void construction() throws Exception {
+        final Context context = InstrumentationRegistry.getTargetContext();
+        final LayoutInflater layoutInflater = LayoutInflater.from(context);
+        final CarouselConfig plainConfig = new CarouselConfig.Builder()
+                .setAutoPlay(false)
+                .setShowIndicators(false)
+                .build();
+        final long[] results = new long[2];
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                results[0] = CarouselInflationBenchmark.measure(new CarouselInflationBenchmark.Factory() {
+                    @Override
+                    public View create() {
+                        return layoutInflater.inflate(R.layout.benchmark_carousel_plain, null, false);
+                    }
+                });
+                results[1] = CarouselInflationBenchmark.measure(new CarouselInflationBenchmark.Factory() {
+                    @Override
+                    public View create() {
+                        return new CarouselView(context, plainConfig);
+                    }
+                });
+            }
+        });
+
+        Bundle report = new Bundle();
+        report.putLong("inflate_plain_ns", results[0]);
+        report.putLong("code_plain_ns", results[1]);
+        InstrumentationRegistry.getInstrumentation().sendStatus(0, report);
+
+        Log.i(CarouselInflationBenchmark.TAG, "inflate plain: " + results[0] + " ns, code plain: " + results[1] + " ns");
+
+        for(long result : results) {
+            assertTrue(result > 0);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+
+import com.nkrhelper.mylibrary.test.R;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Compares the median inflation time of a carousel with every subsystem enabled and one
+ * with auto play and indicators disabled. Results are logged under {@value #TAG} and
+ * reported as instrumentation status.
+ *
+ * Only the {@link CarouselView} class and attributes which exist since the first revision
+ * are used, so this class and its two layouts can be copied onto an older checkout to get
+ * the baseline. {@link CarouselConstructionBenchmark} covers carousels built in code.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CarouselInflationBenchmark {
+    static final String TAG = "CarouselBenchmark";
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int ITERATIONS = 500;
+
+    @Test
+    public void inflation() throws Exception {
+        final Context context = InstrumentationRegistry.getTargetContext();
+        final LayoutInflater layoutInflater = LayoutInflater.from(context);
+        final long[] results = new long[2];
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                results[0] = measure(new Factory() {
+                    @Override
+                    public View create() {
+                        return layoutInflater.inflate(R.layout.benchmark_carousel_default, null, false);
+                    }
+                });
+                results[1] = measure(new Factory() {
+                    @Override
+                    public View create() {
+                        return layoutInflater.inflate(R.layout.benchmark_carousel_plain, null, false);
+                    }
+                });
+            }
+        });
+
+        Bundle report = new Bundle();
+        report.putLong("inflate_default_ns", results[0]);
+        report.putLong("inflate_plain_ns", results[1]);
+        InstrumentationRegistry.getInstrumentation().sendStatus(0, report);
+
+        Log.i(TAG, "inflate default: " + results[0] + " ns, inflate plain: " + results[1] + " ns");
+
+        for(long result : results) {
+            assertTrue(result > 0);
+        }
+    }
+
+    static long measure(Factory factory) {
+        for(int i = 0; i < WARMUP_ITERATIONS; i++) {
+            factory.create();
+        }
+
+        long[] samples = new long[ITERATIONS];
+        for(int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            factory.create();
+            samples[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+
+    interface Factory {
+        View create();
+    }
+}
@@ -0,0 +1,151 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+import com.nkrhelper.carouselcore.FrameHistory;
+import com.nkrhelper.carouselcore.TickScheduler;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Process wide auto play clock. All carousels share one main thread {@link Handler}
+ * callback which is posted for the earliest {@link SystemClock#uptimeMillis()} deadline,
+ * so a screen full of carousels costs a single pending message. Must only be used from
+ * the main thread.
+ *
+ * Shortly before each deadline the ticker records frame durations through
+ * {@link Choreographer} (API 16+), so a carousel can postpone its tick while the UI
+ * thread is missing frames. Frames are not watched in between ticks.
+ */
+
+final class AutoPlayTicker {
+    private static final long FRAME_WATCH_LEAD = 250;
+    private static final int FRAME_HISTORY_SIZE = 32;
+
+    private static AutoPlayTicker sInstance;
+
+    private final Handler mHandler;
+    private final TickScheduler mScheduler;
+    private final FrameHistory mFrameHistory;
+    private final FrameWatcher mFrameWatcher;
+    private long mScheduledTime;
+
+    private final Runnable mTickRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mScheduledTime = TickScheduler.NO_DEADLINE;
+            mScheduler.dispatch(SystemClock.uptimeMillis());
+            reschedule();
+        }
+    };
+
+    private final Runnable mWatchRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mFrameWatcher.start();
+        }
+    };
+
+    static AutoPlayTicker getInstance() {
+        if(sInstance == null) {
+            sInstance = new AutoPlayTicker();
+        }
+
+        return sInstance;
+    }
+
+    private AutoPlayTicker() {
+        mHandler = new Handler(Looper.getMainLooper());
+        mScheduler = new TickScheduler();
+        mFrameHistory = new FrameHistory(FRAME_HISTORY_SIZE);
+        mFrameWatcher = (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN ? new FrameWatcher(mFrameHistory) : null);
+        mScheduledTime = TickScheduler.NO_DEADLINE;
+    }
+
+    /**
+     * Frames recorded since shortly before the current tick, empty below API 16.
+     */
+    FrameHistory getFrameHistory() {
+        return mFrameHistory;
+    }
+
+    void register(TickScheduler.Client client) {
+        mScheduler.register(client);
+        reschedule();
+    }
+
+    void unregister(TickScheduler.Client client) {
+        if(mScheduler.unregister(client)) {
+            reschedule();
+        }
+    }
+
+    /**
+     * Every member of a group counts its interval from the same origin, so members with
+     * the same interval fire within the same dispatch.
+     */
+    long getGroupOrigin(String group) {
+        return mScheduler.getGroupOrigin(group, SystemClock.uptimeMillis());
+    }
+
+    void reschedule() {
+        long nextTime = mScheduler.getNextDeadline();
+        if(nextTime == mScheduledTime) {
+            return;
+        }
+
+        mHandler.removeCallbacks(mTickRunnable);
+        mScheduledTime = nextTime;
+        if(nextTime != TickScheduler.NO_DEADLINE) {
+            mHandler.postAtTime(mTickRunnable, nextTime);
+        }
+
+        // watch frames only for a short while before the next tick
+
+        if(mFrameWatcher != null) {
+            mHandler.removeCallbacks(mWatchRunnable);
+            mFrameWatcher.stop();
+            if(nextTime != TickScheduler.NO_DEADLINE) {
+                mHandler.postAtTime(mWatchRunnable, nextTime - FRAME_WATCH_LEAD);
+            }
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static final class FrameWatcher implements Choreographer.FrameCallback {
+        private final FrameHistory mHistory;
+        private boolean mWatching;
+
+        FrameWatcher(FrameHistory history) {
+            mHistory = history;
+        }
+
+        void start() {
+            if(!mWatching) {
+                mWatching = true;
+                mHistory.reset();
+                Choreographer.getInstance().postFrameCallback(this);
+            }
+        }
+
+        void stop() {
+            if(mWatching) {
+                mWatching = false;
+                Choreographer.getInstance().removeFrameCallback(this);
+            }
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            if(mWatching) {
+                mHistory.record(frameTimeNanos);
+                Choreographer.getInstance().postFrameCallback(this);
+            }
+        }
+    }
+}
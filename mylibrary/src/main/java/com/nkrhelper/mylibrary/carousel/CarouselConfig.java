@@ -0,0 +1,444 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Color;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.AttributeSet;
+import android.view.Gravity;
+
+import com.nkrhelper.mylibrary.R;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Immutable construction settings of a {@link CarouselView}. Parsed from the layout
+ * attributes in a single pass, or built in code with a {@link Builder} for carousels
+ * created without XML. Indicator drawables are kept as resource ids and only resolved
+ * when the indicator is actually created.
+ */
+
+public final class CarouselConfig {
+    private final int mOrientation;
+    private final int mOffscreenPageLimit;
+    private final int mPrefetchCount;
+    private final int mScrollDuration;
+    private final int mPreInflateCount;
+    private final int mTransition;
+    private final boolean mAutoPlay;
+    private final int mAutoPlayInterval;
+    private final int mAutoPlayDirection;
+    private final String mAutoPlayGroup;
+    private final float mAutoPlayVisibleThreshold;
+    private final boolean mShowIndicators;
+    private final int mIndicatorLayoutGravity;
+    private final int mIndicatorLayoutMarginLeft;
+    private final int mIndicatorLayoutMarginTop;
+    private final int mIndicatorLayoutMarginRight;
+    private final int mIndicatorLayoutMarginBottom;
+    private final int mIndicatorSize;
+    private final int mIndicatorMaxVisible;
+    private final int mIndicatorMarginLeft;
+    private final int mIndicatorMarginTop;
+    private final int mIndicatorMarginRight;
+    private final int mIndicatorMarginBottom;
+    private final int mIndicatorNormalState;
+    private final int mIndicatorSelectedState;
+    private final int mIndicatorNormalStateColor;
+    private final int mIndicatorSelectedStateColor;
+
+    private CarouselConfig(Builder builder) {
+        mOrientation = builder.mOrientation;
+        mOffscreenPageLimit = builder.mOffscreenPageLimit;
+        mPrefetchCount = builder.mPrefetchCount;
+        mScrollDuration = builder.mScrollDuration;
+        mPreInflateCount = builder.mPreInflateCount;
+        mTransition = builder.mTransition;
+        mAutoPlay = builder.mAutoPlay;
+        mAutoPlayInterval = builder.mAutoPlayInterval;
+        mAutoPlayDirection = builder.mAutoPlayDirection;
+        mAutoPlayGroup = builder.mAutoPlayGroup;
+        mAutoPlayVisibleThreshold = builder.mAutoPlayVisibleThreshold;
+        mShowIndicators = builder.mShowIndicators;
+        mIndicatorLayoutGravity = builder.mIndicatorLayoutGravity;
+        mIndicatorLayoutMarginLeft = builder.mIndicatorLayoutMarginLeft;
+        mIndicatorLayoutMarginTop = builder.mIndicatorLayoutMarginTop;
+        mIndicatorLayoutMarginRight = builder.mIndicatorLayoutMarginRight;
+        mIndicatorLayoutMarginBottom = builder.mIndicatorLayoutMarginBottom;
+        mIndicatorSize = builder.mIndicatorSize;
+        mIndicatorMaxVisible = builder.mIndicatorMaxVisible;
+        mIndicatorMarginLeft = builder.mIndicatorMarginLeft;
+        mIndicatorMarginTop = builder.mIndicatorMarginTop;
+        mIndicatorMarginRight = builder.mIndicatorMarginRight;
+        mIndicatorMarginBottom = builder.mIndicatorMarginBottom;
+        mIndicatorNormalState = builder.mIndicatorNormalState;
+        mIndicatorSelectedState = builder.mIndicatorSelectedState;
+        mIndicatorNormalStateColor = builder.mIndicatorNormalStateColor;
+        mIndicatorSelectedStateColor = builder.mIndicatorSelectedStateColor;
+    }
+
+    /**
+     * Reads every {@code CarouselView} attribute with one {@link TypedArray}, attributes
+     * which are not set keep the {@link Builder} defaults.
+     */
+    @NonNull
+    public static CarouselConfig fromAttributes(@NonNull Context context, @Nullable AttributeSet attrs) {
+        Builder builder = new Builder();
+        if(attrs == null) {
+            return builder.build();
+        }
+
+        TypedArray typedArray = context.obtainStyledAttributes(attrs, R.styleable.CarouselView);
+        try {
+            builder.mOrientation = typedArray.getInteger(R.styleable.CarouselView_carousel_orientation, builder.mOrientation);
+            builder.mOffscreenPageLimit = typedArray.getInteger(R.styleable.CarouselView_carousel_offscreen_page_limit, builder.mOffscreenPageLimit);
+            builder.mPrefetchCount = typedArray.getInteger(R.styleable.CarouselView_carousel_prefetch_count, builder.mPrefetchCount);
+            builder.mScrollDuration = typedArray.getInteger(R.styleable.CarouselView_carousel_scroll_duration, builder.mScrollDuration);
+            builder.mPreInflateCount = typedArray.getInteger(R.styleable.CarouselView_carousel_pre_inflate_count, builder.mPreInflateCount);
+            builder.mTransition = typedArray.getInteger(R.styleable.CarouselView_carousel_transition, builder.mTransition);
+
+            // auto play
+
+            builder.mAutoPlay = typedArray.getBoolean(R.styleable.CarouselView_carousel_auto_play, builder.mAutoPlay);
+            builder.mAutoPlayInterval = typedArray.getInteger(R.styleable.CarouselView_carousel_auto_play_interval, builder.mAutoPlayInterval);
+            builder.mAutoPlayDirection = typedArray.getInteger(R.styleable.CarouselView_carousel_auto_play_direction, builder.mAutoPlayDirection);
+            builder.mAutoPlayGroup = typedArray.getString(R.styleable.CarouselView_carousel_auto_play_group);
+            builder.mAutoPlayVisibleThreshold = typedArray.getFloat(R.styleable.CarouselView_carousel_auto_play_visible_threshold,
+                    builder.mAutoPlayVisibleThreshold);
+
+            // indicators
+
+            builder.mShowIndicators = typedArray.getBoolean(R.styleable.CarouselView_show_indicators, builder.mShowIndicators);
+            builder.mIndicatorLayoutGravity = typedArray.getInteger(R.styleable.CarouselView_indicator_layout_gravity,
+                    builder.mIndicatorLayoutGravity);
+            builder.mIndicatorLayoutMarginLeft = typedArray.getDimensionPixelSize(R.styleable.CarouselView_indicator_layout_margin_left, 0);
+            builder.mIndicatorLayoutMarginTop = typedArray.getDimensionPixelSize(R.styleable.CarouselView_indicator_layout_margin_top, 0);
+            builder.mIndicatorLayoutMarginRight = typedArray.getDimensionPixelSize(R.styleable.CarouselView_indicator_layout_margin_right, 0);
+            builder.mIndicatorLayoutMarginBottom = typedArray.getDimensionPixelSize(R.styleable.CarouselView_indicator_layout_margin_bottom, 0);
+            builder.mIndicatorSize = typedArray.getDimensionPixelSize(R.styleable.CarouselView_indicator_size, builder.mIndicatorSize);
+            builder.mIndicatorMaxVisible = typedArray.getInteger(R.styleable.CarouselView_indicator_max_visible, 0);
+            builder.mIndicatorMarginLeft = typedArray.getDimensionPixelSize(R.styleable.CarouselView_indicator_margin_left, 0);
+            builder.mIndicatorMarginTop = typedArray.getDimensionPixelSize(R.styleable.CarouselView_indicator_margin_top, 0);
+            builder.mIndicatorMarginRight = typedArray.getDimensionPixelSize(R.styleable.CarouselView_indicator_margin_right, 0);
+            builder.mIndicatorMarginBottom = typedArray.getDimensionPixelSize(R.styleable.CarouselView_indicator_margin_bottom, 0);
+            builder.mIndicatorNormalState = typedArray.getResourceId(R.styleable.CarouselView_indicator_normal_state, 0);
+            builder.mIndicatorSelectedState = typedArray.getResourceId(R.styleable.CarouselView_indicator_selected_state, 0);
+            builder.mIndicatorNormalStateColor = typedArray.getColor(R.styleable.CarouselView_indicator_normal_state_color,
+                    builder.mIndicatorNormalStateColor);
+            builder.mIndicatorSelectedStateColor = typedArray.getColor(R.styleable.CarouselView_indicator_selected_state_color,
+                    builder.mIndicatorSelectedStateColor);
+        } finally {
+            typedArray.recycle();
+        }
+
+        return builder.build();
+    }
+
+    public int getOrientation() {
+        return mOrientation;
+    }
+
+    public int getOffscreenPageLimit() {
+        return mOffscreenPageLimit;
+    }
+
+    public int getPrefetchCount() {
+        return mPrefetchCount;
+    }
+
+    public int getScrollDuration() {
+        return mScrollDuration;
+    }
+
+    public int getPreInflateCount() {
+        return mPreInflateCount;
+    }
+
+    public int getTransition() {
+        return mTransition;
+    }
+
+    public boolean isAutoPlay() {
+        return mAutoPlay;
+    }
+
+    public int getAutoPlayInterval() {
+        return mAutoPlayInterval;
+    }
+
+    public int getAutoPlayDirection() {
+        return mAutoPlayDirection;
+    }
+
+    @Nullable
+    public String getAutoPlayGroup() {
+        return mAutoPlayGroup;
+    }
+
+    public float getAutoPlayVisibleThreshold() {
+        return mAutoPlayVisibleThreshold;
+    }
+
+    public boolean isShowIndicators() {
+        return mShowIndicators;
+    }
+
+    public int getIndicatorLayoutGravity() {
+        return mIndicatorLayoutGravity;
+    }
+
+    public int getIndicatorLayoutMarginLeft() {
+        return mIndicatorLayoutMarginLeft;
+    }
+
+    public int getIndicatorLayoutMarginTop() {
+        return mIndicatorLayoutMarginTop;
+    }
+
+    public int getIndicatorLayoutMarginRight() {
+        return mIndicatorLayoutMarginRight;
+    }
+
+    public int getIndicatorLayoutMarginBottom() {
+        return mIndicatorLayoutMarginBottom;
+    }
+
+    public int getIndicatorSize() {
+        return mIndicatorSize;
+    }
+
+    public int getIndicatorMaxVisible() {
+        return mIndicatorMaxVisible;
+    }
+
+    public int getIndicatorMarginLeft() {
+        return mIndicatorMarginLeft;
+    }
+
+    public int getIndicatorMarginTop() {
+        return mIndicatorMarginTop;
+    }
+
+    public int getIndicatorMarginRight() {
+        return mIndicatorMarginRight;
+    }
+
+    public int getIndicatorMarginBottom() {
+        return mIndicatorMarginBottom;
+    }
+
+    /**
+     * Returns the normal state drawable resource, or 0 for the library default.
+     */
+    @DrawableRes
+    public int getIndicatorNormalState() {
+        return mIndicatorNormalState;
+    }
+
+    /**
+     * Returns the selected state drawable resource, or 0 for the library default.
+     */
+    @DrawableRes
+    public int getIndicatorSelectedState() {
+        return mIndicatorSelectedState;
+    }
+
+    public int getIndicatorNormalStateColor() {
+        return mIndicatorNormalStateColor;
+    }
+
+    public int getIndicatorSelectedStateColor() {
+        return mIndicatorSelectedStateColor;
+    }
+
+    public Builder buildUpon() {
+        return new Builder(this);
+    }
+
+    public static final class Builder {
+        private int mOrientation = CarouselView.HORIZONTAL;
+        private int mOffscreenPageLimit;
+        private int mPrefetchCount;
+        private int mScrollDuration = 300;
+        private int mPreInflateCount;
+        private int mTransition = CarouselView.TRANSITION_SCROLL;
+        private boolean mAutoPlay = true;
+        private int mAutoPlayInterval = 5000;
+        private int mAutoPlayDirection = CarouselView.FORWARD;
+        private String mAutoPlayGroup;
+        private float mAutoPlayVisibleThreshold = 0.5f;
+        private boolean mShowIndicators = true;
+        private int mIndicatorLayoutGravity = Gravity.BOTTOM | Gravity.CENTER;
+        private int mIndicatorLayoutMarginLeft;
+        private int mIndicatorLayoutMarginTop;
+        private int mIndicatorLayoutMarginRight;
+        private int mIndicatorLayoutMarginBottom;
+        private int mIndicatorSize = 20;
+        private int mIndicatorMaxVisible;
+        private int mIndicatorMarginLeft;
+        private int mIndicatorMarginTop;
+        private int mIndicatorMarginRight;
+        private int mIndicatorMarginBottom;
+        private int mIndicatorNormalState;
+        private int mIndicatorSelectedState;
+        private int mIndicatorNormalStateColor = Color.WHITE;
+        private int mIndicatorSelectedStateColor = Color.WHITE;
+
+        public Builder() {
+        }
+
+        private Builder(CarouselConfig config) {
+            mOrientation = config.mOrientation;
+            mOffscreenPageLimit = config.mOffscreenPageLimit;
+            mPrefetchCount = config.mPrefetchCount;
+            mScrollDuration = config.mScrollDuration;
+            mPreInflateCount = config.mPreInflateCount;
+            mTransition = config.mTransition;
+            mAutoPlay = config.mAutoPlay;
+            mAutoPlayInterval = config.mAutoPlayInterval;
+            mAutoPlayDirection = config.mAutoPlayDirection;
+            mAutoPlayGroup = config.mAutoPlayGroup;
+            mAutoPlayVisibleThreshold = config.mAutoPlayVisibleThreshold;
+            mShowIndicators = config.mShowIndicators;
+            mIndicatorLayoutGravity = config.mIndicatorLayoutGravity;
+            mIndicatorLayoutMarginLeft = config.mIndicatorLayoutMarginLeft;
+            mIndicatorLayoutMarginTop = config.mIndicatorLayoutMarginTop;
+            mIndicatorLayoutMarginRight = config.mIndicatorLayoutMarginRight;
+            mIndicatorLayoutMarginBottom = config.mIndicatorLayoutMarginBottom;
+            mIndicatorSize = config.mIndicatorSize;
+            mIndicatorMaxVisible = config.mIndicatorMaxVisible;
+            mIndicatorMarginLeft = config.mIndicatorMarginLeft;
+            mIndicatorMarginTop = config.mIndicatorMarginTop;
+            mIndicatorMarginRight = config.mIndicatorMarginRight;
+            mIndicatorMarginBottom = config.mIndicatorMarginBottom;
+            mIndicatorNormalState = config.mIndicatorNormalState;
+            mIndicatorSelectedState = config.mIndicatorSelectedState;
+            mIndicatorNormalStateColor = config.mIndicatorNormalStateColor;
+            mIndicatorSelectedStateColor = config.mIndicatorSelectedStateColor;
+        }
+
+        public Builder setOrientation(int orientation) {
+            mOrientation = orientation;
+            return this;
+        }
+
+        public Builder setOffscreenPageLimit(int limit) {
+            mOffscreenPageLimit = limit;
+            return this;
+        }
+
+        public Builder setPrefetchCount(int count) {
+            mPrefetchCount = count;
+            return this;
+        }
+
+        /**
+         * Duration of a smooth page change in milliseconds, zero or less scrolls at the
+         * default speed of {@link android.support.v7.widget.RecyclerView}.
+         */
+        public Builder setScrollDuration(int duration) {
+            mScrollDuration = duration;
+            return this;
+        }
+
+        /**
+         * Number of page views per view type inflated in idle time and put into the recycled
+         * view pool before the carousel first needs them, 0 disables pre-inflation.
+         */
+        public Builder setPreInflateCount(int count) {
+            mPreInflateCount = count;
+            return this;
+        }
+
+        /**
+         * How auto play and {@link CarouselView#setCurrentItem(int)} change the page, either
+         * {@link CarouselView#TRANSITION_SCROLL} or {@link CarouselView#TRANSITION_CROSSFADE}.
+         */
+        public Builder setTransition(int transition) {
+            mTransition = transition;
+            return this;
+        }
+
+        public Builder setAutoPlay(boolean autoPlay) {
+            mAutoPlay = autoPlay;
+            return this;
+        }
+
+        public Builder setAutoPlayInterval(int interval) {
+            mAutoPlayInterval = interval;
+            return this;
+        }
+
+        public Builder setAutoPlayDirection(int direction) {
+            mAutoPlayDirection = direction;
+            return this;
+        }
+
+        public Builder setAutoPlayGroup(@Nullable String group) {
+            mAutoPlayGroup = group;
+            return this;
+        }
+
+        public Builder setAutoPlayVisibleThreshold(float threshold) {
+            mAutoPlayVisibleThreshold = threshold;
+            return this;
+        }
+
+        public Builder setShowIndicators(boolean showIndicators) {
+            mShowIndicators = showIndicators;
+            return this;
+        }
+
+        public Builder setIndicatorLayoutGravity(int gravity) {
+            mIndicatorLayoutGravity = gravity;
+            return this;
+        }
+
+        public Builder setIndicatorLayoutMargins(int left, int top, int right, int bottom) {
+            mIndicatorLayoutMarginLeft = left;
+            mIndicatorLayoutMarginTop = top;
+            mIndicatorLayoutMarginRight = right;
+            mIndicatorLayoutMarginBottom = bottom;
+            return this;
+        }
+
+        public Builder setIndicatorSize(int size) {
+            mIndicatorSize = size;
+            return this;
+        }
+
+        public Builder setIndicatorMaxVisible(int maxVisible) {
+            mIndicatorMaxVisible = maxVisible;
+            return this;
+        }
+
+        public Builder setIndicatorMargins(int left, int top, int right, int bottom) {
+            mIndicatorMarginLeft = left;
+            mIndicatorMarginTop = top;
+            mIndicatorMarginRight = right;
+            mIndicatorMarginBottom = bottom;
+            return this;
+        }
+
+        /**
+         * Sets the indicator drawable resources, 0 keeps the library default.
+         */
+        public Builder setIndicatorStates(@DrawableRes int normalState, @DrawableRes int selectedState) {
+            mIndicatorNormalState = normalState;
+            mIndicatorSelectedState = selectedState;
+            return this;
+        }
+
+        public Builder setIndicatorStateColors(int normalColor, int selectedColor) {
+            mIndicatorNormalStateColor = normalColor;
+            mIndicatorSelectedStateColor = selectedColor;
+            return this;
+        }
+
+        public CarouselConfig build() {
+            return new CarouselConfig(this);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Disk LRU of byte payloads, bounded by the total size of its files. The access order is
+ * kept in the file modification times so it survives process restarts. Does blocking
+ * I/O, only use it from a background thread, e.g. inside
+ * {@link CarouselView.Adapter#onPrefetchCarouselItem(int)}.
+ */
+
+public class CarouselDiskCache {
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File mDirectory;
+    private final LinkedHashMap<String, Long> mEntries;
+    private long mMaxBytes;
+    private long mSize;
+    private boolean mInitialized;
+
+    public CarouselDiskCache(File directory, long maxBytes) {
+        mDirectory = directory;
+        mMaxBytes = maxBytes;
+        mEntries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public synchronized byte[] get(String key) {
+        initialize();
+
+        String fileName = getFileName(key);
+        // get() rather than containsKey() moves the entry to the most recently used end
+
+        if(mEntries.get(fileName) == null) {
+            return null;
+        }
+
+        File file = new File(mDirectory, fileName);
+        byte[] data = readFile(file);
+        if(data == null) {
+            removeEntry(fileName);
+            return null;
+        }
+
+        file.setLastModified(System.currentTimeMillis());
+        return data;
+    }
+
+    public synchronized boolean put(String key, byte[] data) {
+        initialize();
+
+        if(data.length > mMaxBytes || (!mDirectory.exists() && !mDirectory.mkdirs())) {
+            return false;
+        }
+
+        // write to a temp file first so a crash never leaves a truncated entry
+
+        String fileName = getFileName(key);
+        File tempFile = new File(mDirectory, fileName + TEMP_SUFFIX);
+        if(!writeFile(tempFile, data)) {
+            tempFile.delete();
+            return false;
+        }
+
+        removeEntry(fileName);
+        if(!tempFile.renameTo(new File(mDirectory, fileName))) {
+            tempFile.delete();
+            return false;
+        }
+
+        mEntries.put(fileName, (long) data.length);
+        mSize += data.length;
+        trimToSize(mMaxBytes);
+        return true;
+    }
+
+    public synchronized void remove(String key) {
+        initialize();
+        removeEntry(getFileName(key));
+    }
+
+    public synchronized void clear() {
+        trimToSize(0);
+    }
+
+    public synchronized long size() {
+        initialize();
+        return mSize;
+    }
+
+    public synchronized long getMaxSize() {
+        return mMaxBytes;
+    }
+
+    public synchronized void setMaxSize(long maxBytes) {
+        mMaxBytes = maxBytes;
+        trimToSize(maxBytes);
+    }
+
+    /**
+     * Deletes least recently used entries until the cache is not larger than {@code maxBytes}.
+     */
+    public synchronized void trimToSize(long maxBytes) {
+        initialize();
+
+        Iterator<Map.Entry<String, Long>> iterator = mEntries.entrySet().iterator();
+        while(mSize > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            new File(mDirectory, entry.getKey()).delete();
+            mSize -= entry.getValue();
+            iterator.remove();
+        }
+    }
+
+    private void initialize() {
+        if(mInitialized) {
+            return;
+        }
+
+        mInitialized = true;
+        File[] files = mDirectory.listFiles();
+        if(files == null) {
+            return;
+        }
+
+        // oldest first, the map then iterates in least recently used order
+
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File lhs, File rhs) {
+                long lhsModified = lhs.lastModified();
+                long rhsModified = rhs.lastModified();
+                return lhsModified < rhsModified ? -1 : (lhsModified == rhsModified ? 0 : 1);
+            }
+        });
+
+        for(File file : files) {
+            if(file.getName().endsWith(TEMP_SUFFIX)) {
+                file.delete();
+            } else if(file.isFile()) {
+                mEntries.put(file.getName(), file.length());
+                mSize += file.length();
+            }
+        }
+    }
+
+    private void removeEntry(String fileName) {
+        Long length = mEntries.remove(fileName);
+        if(length != null) {
+            mSize -= length;
+        }
+        new File(mDirectory, fileName).delete();
+    }
+
+    private static byte[] readFile(File file) {
+        FileInputStream inputStream = null;
+        try {
+            inputStream = new FileInputStream(file);
+            byte[] data = new byte[(int) file.length()];
+            int offset = 0;
+            while(offset < data.length) {
+                int read = inputStream.read(data, offset, data.length - offset);
+                if(read < 0) {
+                    return null;
+                }
+                offset += read;
+            }
+            return data;
+        } catch (IOException e) {
+            return null;
+        } finally {
+            closeQuietly(inputStream);
+        }
+    }
+
+    private static boolean writeFile(File file, byte[] data) {
+        FileOutputStream outputStream = null;
+        try {
+            outputStream = new FileOutputStream(file);
+            outputStream.write(data);
+            outputStream.getFD().sync();
+            return true;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            closeQuietly(outputStream);
+        }
+    }
+
+    static void closeQuietly(Closeable closeable) {
+        if(closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static String getFileName(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            byte[] hash = digest.digest(key.getBytes("UTF-8"));
+            StringBuilder builder = new StringBuilder(hash.length * 2);
+            for(byte b : hash) {
+                builder.append(Character.forDigit((b >> 4) & 0xf, 16));
+                builder.append(Character.forDigit(b & 0xf, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException | UnsupportedEncodingException e) {
+            return String.valueOf(key.hashCode());
+        }
+    }
+}
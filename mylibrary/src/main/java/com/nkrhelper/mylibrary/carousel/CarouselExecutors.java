@@ -0,0 +1,65 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Background executor shared by all carousels for prefetching and other work that must
+ * stay off the main thread, and the main thread handler results are posted back to.
+ */
+
+public final class CarouselExecutors {
+    private static final int THREAD_COUNT = 2;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static Executor sBackgroundExecutor;
+    private static Handler sMainHandler;
+
+    private CarouselExecutors() {
+    }
+
+    public static synchronized Executor getBackgroundExecutor() {
+        if(sBackgroundExecutor == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(THREAD_COUNT, THREAD_COUNT,
+                    KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new BackgroundThreadFactory());
+            executor.allowCoreThreadTimeOut(true);
+            sBackgroundExecutor = executor;
+        }
+
+        return sBackgroundExecutor;
+    }
+
+    static synchronized Handler getMainHandler() {
+        if(sMainHandler == null) {
+            sMainHandler = new Handler(Looper.getMainLooper());
+        }
+
+        return sMainHandler;
+    }
+
+    private static class BackgroundThreadFactory implements ThreadFactory {
+        private final AtomicInteger mThreadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            return new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }
+            }, "carousel-background-" + mThreadCount.incrementAndGet());
+        }
+    }
+}
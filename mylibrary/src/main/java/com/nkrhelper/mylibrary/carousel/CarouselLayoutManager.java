@@ -0,0 +1,156 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.content.Context;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.OrientationHelper;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Linear layout manager which lays out and binds a number of pages on both sides of the
+ * visible one, like the offscreen page limit of a ViewPager, so the next and the previous
+ * page are ready before a swipe, an auto play step or a crossfade reaches them.
+ * LinearLayoutManager only adds its extra layout space ahead of the last scroll, the
+ * pages on the other side are laid out here after it.
+ */
+
+class CarouselLayoutManager extends LinearLayoutManager {
+    private int mOffscreenPageLimit;
+    private OrientationHelper mPageOrientationHelper;
+
+    CarouselLayoutManager(Context context, int orientation) {
+        super(context, orientation, false);
+    }
+
+    void setOffscreenPageLimit(int limit) {
+        if(limit != mOffscreenPageLimit) {
+            mOffscreenPageLimit = limit;
+            requestLayout();
+        }
+    }
+
+    int getOffscreenPageLimit() {
+        return mOffscreenPageLimit;
+    }
+
+    @Override
+    public void setOrientation(int orientation) {
+        super.setOrientation(orientation);
+        mPageOrientationHelper = null;
+    }
+
+    @Override
+    protected int getExtraLayoutSpace(RecyclerView.State state) {
+        return Math.max(super.getExtraLayoutSpace(state), getOffscreenSpace());
+    }
+
+    @Override
+    public void onLayoutChildren(RecyclerView.Recycler recycler, RecyclerView.State state) {
+        super.onLayoutChildren(recycler, state);
+        if(state.isPreLayout() || getOffscreenSpace() <= 0 || getChildCount() == 0) {
+            return;
+        }
+
+        layoutOffscreenPages(recycler, state.getItemCount(), true);
+        layoutOffscreenPages(recycler, state.getItemCount(), false);
+    }
+
+    @Override
+    public void onScrollStateChanged(int state) {
+        super.onScrollStateChanged(state);
+
+        // scrolling recycles the pages left behind, lay them out again once the carousel settles
+
+        if(state == RecyclerView.SCROLL_STATE_IDLE && getOffscreenSpace() > 0 && getChildCount() > 0
+                && (isMissingOffscreenPage(true) || isMissingOffscreenPage(false))) {
+            requestLayout();
+        }
+    }
+
+    private int getOffscreenSpace() {
+        if(mOffscreenPageLimit <= 0) {
+            return 0;
+        }
+
+        int pageSize = (getOrientation() == HORIZONTAL)
+                ? getWidth() - getPaddingLeft() - getPaddingRight()
+                : getHeight() - getPaddingTop() - getPaddingBottom();
+        return pageSize * mOffscreenPageLimit;
+    }
+
+    private OrientationHelper getPageOrientationHelper() {
+        if(mPageOrientationHelper == null) {
+            mPageOrientationHelper = OrientationHelper.createOrientationHelper(this, getOrientation());
+        }
+
+        return mPageOrientationHelper;
+    }
+
+    /**
+     * Matches LinearLayoutManager, right to left horizontal layouts put the first page at
+     * the right and the last child at the left.
+     */
+    private boolean isLayoutReversed() {
+        return (getOrientation() == HORIZONTAL && isLayoutRTL()) != getReverseLayout();
+    }
+
+    private View getEdgeChild(boolean towardsStart) {
+        return getChildAt(towardsStart == isLayoutReversed() ? getChildCount() - 1 : 0);
+    }
+
+    private int getNextPosition(View edgeChild, boolean towardsStart) {
+        return getPosition(edgeChild) + (towardsStart == isLayoutReversed() ? 1 : -1);
+    }
+
+    private boolean isMissingOffscreenPage(boolean towardsStart) {
+        OrientationHelper helper = getPageOrientationHelper();
+        View edgeChild = getEdgeChild(towardsStart);
+        int position = getNextPosition(edgeChild, towardsStart);
+        if(position < 0 || position >= getItemCount()) {
+            return false;
+        }
+
+        return towardsStart
+                ? helper.getDecoratedStart(edgeChild) > helper.getStartAfterPadding() - getOffscreenSpace()
+                : helper.getDecoratedEnd(edgeChild) < helper.getEndAfterPadding() + getOffscreenSpace();
+    }
+
+    private void layoutOffscreenPages(RecyclerView.Recycler recycler, int itemCount, boolean towardsStart) {
+        OrientationHelper helper = getPageOrientationHelper();
+        boolean reversed = isLayoutReversed();
+        View edgeChild = getEdgeChild(towardsStart);
+        int position = getNextPosition(edgeChild, towardsStart);
+        int edge = towardsStart ? helper.getDecoratedStart(edgeChild) : helper.getDecoratedEnd(edgeChild);
+        int limit = towardsStart
+                ? helper.getStartAfterPadding() - getOffscreenSpace()
+                : helper.getEndAfterPadding() + getOffscreenSpace();
+
+        while(position >= 0 && position < itemCount && (towardsStart ? edge > limit : edge < limit)) {
+            View view = recycler.getViewForPosition(position);
+
+            // same child order as LinearLayoutManager, so its edge lookups keep working
+
+            if(towardsStart == reversed) {
+                addView(view);
+            } else {
+                addView(view, 0);
+            }
+            measureChildWithMargins(view, 0, 0);
+
+            int size = helper.getDecoratedMeasurement(view);
+            int otherSize = helper.getDecoratedMeasurementInOther(view);
+            int start = towardsStart ? edge - size : edge;
+            if(getOrientation() == HORIZONTAL) {
+                layoutDecoratedWithMargins(view, start, getPaddingTop(), start + size, getPaddingTop() + otherSize);
+            } else {
+                int left = isLayoutRTL() ? getWidth() - getPaddingRight() - otherSize : getPaddingLeft();
+                layoutDecoratedWithMargins(view, left, start, left + otherSize, start + size);
+            }
+
+            edge = towardsStart ? start : start + size;
+            position += (towardsStart == reversed) ? 1 : -1;
+        }
+    }
+}
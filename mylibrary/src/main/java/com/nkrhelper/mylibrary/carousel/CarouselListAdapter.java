@@ -0,0 +1,239 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.support.annotation.Nullable;
+import android.support.v7.util.DiffUtil;
+import android.support.v7.util.ListUpdateCallback;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Carousel adapter backed by a list which is replaced through {@link #submitList(List)}.
+ * The difference to the current list is computed on a background thread and applied as
+ * item range updates, so the carousel keeps its page and only rebinds what changed.
+ */
+
+public abstract class CarouselListAdapter<T, VH extends RecyclerView.ViewHolder> extends CarouselView.Adapter<VH> {
+    private final ItemCallback<T> mItemCallback;
+    private List<T> mItems;
+    private int mMaxScheduledGeneration;
+    private Executor mDiffExecutor;
+    private RecyclerView mRecyclerView;
+
+    public CarouselListAdapter(ItemCallback<T> itemCallback) {
+        mItemCallback = itemCallback;
+        mItems = Collections.emptyList();
+    }
+
+    public void setDiffExecutor(Executor executor) {
+        mDiffExecutor = executor;
+    }
+
+    public List<T> getCurrentList() {
+        return mItems;
+    }
+
+    public T getItem(int index) {
+        return mItems.get(index);
+    }
+
+    @Override
+    public int getActualItemCount() {
+        return mItems.size();
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        mRecyclerView = recyclerView;
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        mRecyclerView = null;
+    }
+
+    /**
+     * Replaces the items, the list must not be modified afterwards. Must be called on the
+     * main thread, a list submitted while a previous one is still being compared wins.
+     */
+    public void submitList(@Nullable List<T> newItems) {
+        final List<T> newList = (newItems != null ? newItems : Collections.<T>emptyList());
+        final List<T> oldList = mItems;
+        final int generation = ++mMaxScheduledGeneration;
+
+        if(newList == oldList) {
+            return;
+        }
+
+        if(oldList.isEmpty() || newList.isEmpty()) {
+            // nothing to compare, the dummy edge items appear or disappear as well
+
+            mItems = newList;
+            notifyDataSetChanged();
+            scrollToStartPosition();
+            return;
+        }
+
+        Executor executor = (mDiffExecutor != null ? mDiffExecutor : CarouselExecutors.getBackgroundExecutor());
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final DiffUtil.DiffResult result = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+                    @Override
+                    public int getOldListSize() {
+                        return oldList.size();
+                    }
+
+                    @Override
+                    public int getNewListSize() {
+                        return newList.size();
+                    }
+
+                    @Override
+                    public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                        return mItemCallback.areItemsTheSame(oldList.get(oldItemPosition), newList.get(newItemPosition));
+                    }
+
+                    @Override
+                    public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                        return mItemCallback.areContentsTheSame(oldList.get(oldItemPosition), newList.get(newItemPosition));
+                    }
+
+                    @Override
+                    public Object getChangePayload(int oldItemPosition, int newItemPosition) {
+                        return mItemCallback.getChangePayload(oldList.get(oldItemPosition), newList.get(newItemPosition));
+                    }
+                });
+
+                CarouselExecutors.getMainHandler().post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if(generation == mMaxScheduledGeneration && mItems == oldList) {
+                            applyDiff(newList, result);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private void applyDiff(List<T> newList, DiffUtil.DiffResult result) {
+        CarouselUpdateCallback updateCallback = new CarouselUpdateCallback(getCurrentIndex());
+        mItems = newList;
+
+        if(getLoopMode() == CarouselView.LOOP_VIRTUAL) {
+            // virtual positions are taken modulo the item count, every one of them moves
+
+            result.dispatchUpdatesTo(updateCallback);
+            notifyDataSetChanged();
+            if(mRecyclerView != null && updateCallback.mCurrentIndex != RecyclerView.NO_POSITION) {
+                mRecyclerView.scrollToPosition(getStartPosition() + updateCallback.mCurrentIndex);
+            }
+            return;
+        }
+
+        updateCallback.mDispatch = true;
+        result.dispatchUpdatesTo(updateCallback);
+
+        // the dummy edge items mirror the last and the first item
+
+        if(updateCallback.mChanged && getLoopMode() == CarouselView.LOOP_EDGE_ITEMS) {
+            notifyItemChanged(0);
+            notifyItemChanged(newList.size() + 1);
+        }
+    }
+
+    private int getCurrentIndex() {
+        if(mRecyclerView == null) {
+            return RecyclerView.NO_POSITION;
+        }
+
+        LinearLayoutManager layoutManager = (LinearLayoutManager) mRecyclerView.getLayoutManager();
+        int position = layoutManager.findFirstVisibleItemPosition();
+        return position != RecyclerView.NO_POSITION ? getItemIndex(position) : RecyclerView.NO_POSITION;
+    }
+
+    private void scrollToStartPosition() {
+        if(mRecyclerView != null && getItemCount() > 0) {
+            mRecyclerView.scrollToPosition(getStartPosition());
+        }
+    }
+
+    // translates list updates to carousel positions, which are offset by the first dummy item
+
+    private class CarouselUpdateCallback implements ListUpdateCallback {
+        private final int mOffset;
+        private boolean mDispatch;
+        private boolean mChanged;
+        private int mCurrentIndex;
+
+        CarouselUpdateCallback(int currentIndex) {
+            mCurrentIndex = currentIndex;
+            mOffset = (getLoopMode() == CarouselView.LOOP_EDGE_ITEMS ? 1 : 0);
+        }
+
+        @Override
+        public void onInserted(int position, int count) {
+            mChanged = true;
+            if(mCurrentIndex != RecyclerView.NO_POSITION && position <= mCurrentIndex) {
+                mCurrentIndex += count;
+            }
+            if(mDispatch) {
+                notifyItemRangeInserted(position + mOffset, count);
+            }
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            mChanged = true;
+            if(mCurrentIndex != RecyclerView.NO_POSITION && position <= mCurrentIndex) {
+                mCurrentIndex = Math.max(position, mCurrentIndex - count);
+            }
+            if(mDispatch) {
+                notifyItemRangeRemoved(position + mOffset, count);
+            }
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            mChanged = true;
+            if(mCurrentIndex == fromPosition) {
+                mCurrentIndex = toPosition;
+            } else if(mCurrentIndex != RecyclerView.NO_POSITION) {
+                if(fromPosition < mCurrentIndex && toPosition >= mCurrentIndex) {
+                    mCurrentIndex--;
+                } else if(fromPosition > mCurrentIndex && toPosition <= mCurrentIndex) {
+                    mCurrentIndex++;
+                }
+            }
+            if(mDispatch) {
+                notifyItemMoved(fromPosition + mOffset, toPosition + mOffset);
+            }
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            mChanged = true;
+            if(mDispatch) {
+                notifyItemRangeChanged(position + mOffset, count, payload);
+            }
+        }
+    }
+
+    public static abstract class ItemCallback<T> {
+        public abstract boolean areItemsTheSame(T oldItem, T newItem);
+        public abstract boolean areContentsTheSame(T oldItem, T newItem);
+
+        @Nullable
+        public Object getChangePayload(T oldItem, T newItem) {
+            return null;
+        }
+    }
+}
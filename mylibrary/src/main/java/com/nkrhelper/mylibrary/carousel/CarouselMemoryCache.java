@@ -0,0 +1,78 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.content.ComponentCallbacks2;
+import android.graphics.Bitmap;
+import android.util.LruCache;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Memory LRU bounded by the byte size of its values, for decoded bitmaps or other bind
+ * payloads produced by {@link CarouselView.Adapter#onPrefetchCarouselItem(int)}. Safe to use
+ * from any thread.
+ */
+
+public abstract class CarouselMemoryCache<K, V> extends LruCache<K, V> {
+
+    /**
+     * @param maxBytes total size of the cached values before the least recently used ones
+     *                 are evicted
+     */
+    public CarouselMemoryCache(int maxBytes) {
+        super(maxBytes);
+    }
+
+    /**
+     * Returns the size of {@code value} in bytes.
+     */
+    @Override
+    protected abstract int sizeOf(K key, V value);
+
+    /**
+     * Shrinks the cache for a {@link ComponentCallbacks2} trim level, to half its size
+     * while the app is running low and empty once its UI is hidden. Returns the number of
+     * released entries, e.g. from {@link CarouselView.Adapter#onTrimMemory(int)}.
+     */
+    public int trimMemory(int level) {
+        int targetSize;
+        if(level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            targetSize = -1;
+        } else if(level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            targetSize = maxSize() / 2;
+        } else {
+            return 0;
+        }
+
+        // trimToSize is only public from API 17, the snapshot starts with the eldest entry
+
+        int released = 0;
+        for(K key : snapshot().keySet()) {
+            if(size() <= targetSize) {
+                break;
+            }
+            if(remove(key) != null) {
+                released++;
+            }
+        }
+
+        return released;
+    }
+
+    public static <K> CarouselMemoryCache<K, Bitmap> forBitmaps(int maxBytes) {
+        return new CarouselMemoryCache<K, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(K key, Bitmap value) {
+                return value.getRowBytes() * value.getHeight();
+            }
+        };
+    }
+
+    public static <K> CarouselMemoryCache<K, byte[]> forByteArrays(int maxBytes) {
+        return new CarouselMemoryCache<K, byte[]>(maxBytes) {
+            @Override
+            protected int sizeOf(K key, byte[] value) {
+                return value.length;
+            }
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package com.nkrhelper.mylibrary.carousel;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Snapshot of the counters collected by a {@link CarouselView} while metrics are enabled,
+ * see {@link CarouselView#setMetricsEnabled(boolean)}.
+ */
+
+public final class CarouselMetrics {
+    private final long mBindCount;
+    private final long mBindTimeNanos;
+    private final long mMaxBindTimeNanos;
+    private final long mCreatedViewHolderCount;
+    private final long mPoolHitCount;
+    private final long mPoolMissCount;
+    private final long mWrapJumpCount;
+    private final long mAutoPlayTicksFired;
+    private final long mAutoPlayTicksSkipped;
+    private final long mScrollFrameCount;
+    private final long mScrollFrameTimeNanos;
+    private final long mMaxScrollFrameTimeNanos;
+    private final long mFirstLayoutTimeNanos;
+    private final long mFirstLayoutPoolMissCount;
+
+    CarouselMetrics(long bindCount, long bindTimeNanos, long maxBindTimeNanos,
+                    long createdViewHolderCount, long poolHitCount, long poolMissCount,
+                    long wrapJumpCount, long autoPlayTicksFired, long autoPlayTicksSkipped,
+                    long scrollFrameCount, long scrollFrameTimeNanos, long maxScrollFrameTimeNanos,
+                    long firstLayoutTimeNanos, long firstLayoutPoolMissCount) {
+        mBindCount = bindCount;
+        mBindTimeNanos = bindTimeNanos;
+        mMaxBindTimeNanos = maxBindTimeNanos;
+        mCreatedViewHolderCount = createdViewHolderCount;
+        mPoolHitCount = poolHitCount;
+        mPoolMissCount = poolMissCount;
+        mWrapJumpCount = wrapJumpCount;
+        mAutoPlayTicksFired = autoPlayTicksFired;
+        mAutoPlayTicksSkipped = autoPlayTicksSkipped;
+        mScrollFrameCount = scrollFrameCount;
+        mScrollFrameTimeNanos = scrollFrameTimeNanos;
+        mMaxScrollFrameTimeNanos = maxScrollFrameTimeNanos;
+        mFirstLayoutTimeNanos = firstLayoutTimeNanos;
+        mFirstLayoutPoolMissCount = firstLayoutPoolMissCount;
+    }
+
+    public long getBindCount() {
+        return mBindCount;
+    }
+
+    public long getBindTimeNanos() {
+        return mBindTimeNanos;
+    }
+
+    public long getAverageBindTimeNanos() {
+        return mBindCount > 0 ? mBindTimeNanos / mBindCount : 0;
+    }
+
+    public long getMaxBindTimeNanos() {
+        return mMaxBindTimeNanos;
+    }
+
+    public long getCreatedViewHolderCount() {
+        return mCreatedViewHolderCount;
+    }
+
+    /**
+     * Binds of a view holder taken from the recycled view pool.
+     */
+    public long getPoolHitCount() {
+        return mPoolHitCount;
+    }
+
+    /**
+     * Binds of a view holder that had to be created because the pool had none.
+     */
+    public long getPoolMissCount() {
+        return mPoolMissCount;
+    }
+
+    public float getPoolHitRatio() {
+        long total = mPoolHitCount + mPoolMissCount;
+        return total > 0 ? mPoolHitCount / (float) total : 0f;
+    }
+
+    public long getWrapJumpCount() {
+        return mWrapJumpCount;
+    }
+
+    public long getAutoPlayTicksFired() {
+        return mAutoPlayTicksFired;
+    }
+
+    public long getAutoPlayTicksSkipped() {
+        return mAutoPlayTicksSkipped;
+    }
+
+    public long getScrollFrameCount() {
+        return mScrollFrameCount;
+    }
+
+    public long getAverageScrollFrameTimeNanos() {
+        return mScrollFrameCount > 0 ? mScrollFrameTimeNanos / mScrollFrameCount : 0;
+    }
+
+    public long getMaxScrollFrameTimeNanos() {
+        return mMaxScrollFrameTimeNanos;
+    }
+
+    /**
+     * Time from setting the last adapter to the end of the first layout showing its pages,
+     * 0 before that layout. Only measured when metrics were enabled before the adapter was
+     * set.
+     */
+    public long getFirstLayoutTimeNanos() {
+        return mFirstLayoutTimeNanos;
+    }
+
+    /**
+     * Page views the first layout had to inflate because the pool had none, what
+     * pre-inflation is meant to bring down.
+     */
+    public long getFirstLayoutPoolMissCount() {
+        return mFirstLayoutPoolMissCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CarouselMetrics{" +
+                "binds=" + mBindCount +
+                ", avgBindNs=" + getAverageBindTimeNanos() +
+                ", maxBindNs=" + mMaxBindTimeNanos +
+                ", created=" + mCreatedViewHolderCount +
+                ", poolHitRatio=" + getPoolHitRatio() +
+                ", wrapJumps=" + mWrapJumpCount +
+                ", ticksFired=" + mAutoPlayTicksFired +
+                ", ticksSkipped=" + mAutoPlayTicksSkipped +
+                ", scrollFrames=" + mScrollFrameCount +
+                ", avgScrollFrameNs=" + getAverageScrollFrameTimeNanos() +
+                ", maxScrollFrameNs=" + mMaxScrollFrameTimeNanos +
+                ", firstLayoutNs=" + mFirstLayoutTimeNanos +
+                ", firstLayoutPoolMisses=" + mFirstLayoutPoolMissCount +
+                '}';
+    }
+}
@@ -0,0 +1,318 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.content.ComponentCallbacks2;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+import android.support.v7.widget.RecyclerView;
+
+import com.nkrhelper.carouselcore.CarouselPositions;
+import com.nkrhelper.carouselcore.CarouselSnapshot;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Carousel adapter which splits binding in two stages. {@link #prepare(int)} derives a
+ * bind model from the item, e.g. parsed colours, dates or formatted text, on a background
+ * thread once per item. The model is cached by index until the data changes, so
+ * {@link #onBindCarouselViewHolder(RecyclerView.ViewHolder, int, Object)} only assigns
+ * fields. Models are prepared for the pages around the selected one, a page bound before
+ * its model is ready prepares it on the main thread.
+ *
+ * With {@link #setSnapshotFile(File, SnapshotCodec)} the models of the pages around the
+ * selected one are written to a file when the app goes to the background, the next cold
+ * start shows them through a {@link CarouselSnapshotAdapter} until live data arrives.
+ */
+
+public abstract class CarouselModelAdapter<M, VH extends RecyclerView.ViewHolder> extends CarouselView.Adapter<VH> {
+    public static final int DEFAULT_PREPARE_DISTANCE = 2;
+    public static final int MAX_SNAPSHOT_ITEMS = 32;
+
+    private volatile AtomicReferenceArray<M> mModels;
+    private volatile int mGeneration;
+    private int mLastBoundIndex;
+    private Executor mPrepareExecutor;
+    private File mSnapshotFile;
+    private SnapshotCodec<M> mSnapshotCodec;
+    private final ModelInvalidationObserver mModelInvalidationObserver = new ModelInvalidationObserver();
+
+    public CarouselModelAdapter() {
+        mModels = new AtomicReferenceArray<>(0);
+        setPrefetchDistance(DEFAULT_PREPARE_DISTANCE);
+    }
+
+    public void setPrepareExecutor(Executor executor) {
+        mPrepareExecutor = executor;
+        setPrefetchExecutor(executor);
+    }
+
+    /**
+     * Opts in to snapshots, {@code null} opts out. Snapshots are written when the carousel
+     * trims memory because the UI was hidden, or on {@link #writeSnapshot()}.
+     */
+    public void setSnapshotFile(@Nullable File file, @Nullable SnapshotCodec<M> codec) {
+        mSnapshotFile = file;
+        mSnapshotCodec = codec;
+    }
+
+    /**
+     * Writes the models of the selected page and the pages around it, up to
+     * {@value #MAX_SNAPSHOT_ITEMS}, to the snapshot file. Models which are not cached are
+     * prepared. Returns false when snapshots are off or writing failed.
+     */
+    @WorkerThread
+    public boolean writeSnapshot() {
+        return writeSnapshot(mModels, getSelectedIndex(), getActualItemCount());
+    }
+
+    /**
+     * Returns the bind model of the page at {@code index}, preparing it on the calling
+     * thread when it is not cached yet.
+     */
+    public M getModel(int index) {
+        AtomicReferenceArray<M> models = getModels();
+        M model = models.get(index);
+        if(model == null) {
+            model = prepare(index);
+            models.set(index, model);
+        }
+
+        return model;
+    }
+
+    /**
+     * Drops every cached model, they are prepared again for the pages around the last
+     * bound one.
+     */
+    public void invalidateModels() {
+        mGeneration++;
+        mModels = new AtomicReferenceArray<>(Math.max(getActualItemCount(), 0));
+        prepareAround(mLastBoundIndex);
+    }
+
+    /**
+     * Drops the cached models, they are prepared again as pages are selected and bound.
+     */
+    @Override
+    public int onTrimMemory(int level) {
+        final AtomicReferenceArray<M> models = mModels;
+
+        // the app is going to the background, keep what it shows for the next cold start
+
+        if(level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN && mSnapshotFile != null) {
+            final int selectedIndex = getSelectedIndex();
+            final int actualItemCount = getActualItemCount();
+            Executor executor = (mPrepareExecutor != null ? mPrepareExecutor : CarouselExecutors.getBackgroundExecutor());
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    writeSnapshot(models, selectedIndex, actualItemCount);
+                }
+            });
+        }
+
+        int released = 0;
+        for(int i = 0; i < models.length(); i++) {
+            if(models.get(i) != null) {
+                released++;
+            }
+        }
+
+        mGeneration++;
+        mModels = new AtomicReferenceArray<>(Math.max(getActualItemCount(), 0));
+        return released;
+    }
+
+    /**
+     * Changes are observed while the adapter is attached to a carousel. Call
+     * {@link #invalidateModels()} after changing items without a carousel.
+     */
+    @Override
+    public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        if(getAttachedCount() == 1) {
+            registerAdapterDataObserver(mModelInvalidationObserver);
+        }
+
+        // starts preparing the first pages before the carousel lays them out
+
+        getModels();
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        if(getAttachedCount() == 0) {
+            unregisterAdapterDataObserver(mModelInvalidationObserver);
+        }
+    }
+
+    @Override
+    public final void onBindCarouselViewHolder(VH holder, int index) {
+        mLastBoundIndex = index;
+        onBindCarouselViewHolder(holder, index, getModel(index));
+    }
+
+    /**
+     * Prepares the models of the pages next to the selected one. Subclasses overriding
+     * this must call through to keep the models ahead of the scroll.
+     */
+    @WorkerThread
+    @Override
+    public void onPrefetchCarouselItem(int index) {
+        prepareIfNeeded(index, mModels, mGeneration);
+    }
+
+    private AtomicReferenceArray<M> getModels() {
+        // the item count changed without a notification, start over
+
+        AtomicReferenceArray<M> models = mModels;
+        if(models.length() != getActualItemCount()) {
+            invalidateModels();
+            models = mModels;
+        }
+
+        return models;
+    }
+
+    private void prepareAround(int index) {
+        final int actualItemCount = getActualItemCount();
+        if(actualItemCount <= 0) {
+            return;
+        }
+
+        final AtomicReferenceArray<M> models = mModels;
+        final int generation = mGeneration;
+        final int center = CarouselPositions.wrapIndex(index, actualItemCount);
+        final int distance = Math.min(Math.max(getPrefetchDistance(), 0), actualItemCount / 2);
+
+        Executor executor = (mPrepareExecutor != null ? mPrepareExecutor : CarouselExecutors.getBackgroundExecutor());
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                // the page itself first, then its neighbours on both sides
+
+                prepareIfNeeded(center, models, generation);
+                for(int i = 1; i <= distance; i++) {
+                    prepareIfNeeded(CarouselPositions.wrapIndex(center + i, actualItemCount), models, generation);
+                    prepareIfNeeded(CarouselPositions.wrapIndex(center - i, actualItemCount), models, generation);
+                }
+            }
+        });
+    }
+
+    private void prepareIfNeeded(int index, AtomicReferenceArray<M> models, int generation) {
+        // models of replaced data are dropped
+
+        if(generation != mGeneration || index >= models.length() || models.get(index) != null) {
+            return;
+        }
+
+        M model = prepare(index);
+        if(generation == mGeneration) {
+            models.compareAndSet(index, null, model);
+        }
+    }
+
+    private boolean writeSnapshot(AtomicReferenceArray<M> models, int selectedIndex, int actualItemCount) {
+        File file = mSnapshotFile;
+        SnapshotCodec<M> codec = mSnapshotCodec;
+        if(file == null || codec == null || actualItemCount <= 0) {
+            return false;
+        }
+
+        // every page when they fit, otherwise a window centred on the selected page
+
+        int center = (selectedIndex >= 0 && selectedIndex < actualItemCount ? selectedIndex : 0);
+        int count = Math.min(actualItemCount, MAX_SNAPSHOT_ITEMS);
+        int first = (count == actualItemCount ? 0 : center - count / 2);
+
+        int[] indices = new int[count];
+        byte[][] payloads = new byte[count][];
+        for(int i = 0; i < count; i++) {
+            int index = CarouselPositions.wrapIndex(first + i, actualItemCount);
+            M model = (index < models.length() ? models.get(index) : null);
+            if(model == null) {
+                model = prepare(index);
+            }
+
+            indices[i] = index;
+            payloads[i] = codec.encode(model);
+        }
+
+        return CarouselSnapshot.write(file, actualItemCount, center, indices, payloads);
+    }
+
+    private void invalidateRange(int positionStart, int itemCount) {
+        AtomicReferenceArray<M> models = mModels;
+        int count = Math.min(itemCount, models.length());
+        for(int i = 0; i < count; i++) {
+            int index = getItemIndex(positionStart + i);
+            if(index < models.length()) {
+                models.set(index, null);
+            }
+        }
+
+        prepareAround(mLastBoundIndex);
+    }
+
+    /**
+     * Derives the bind model of the page at {@code index}. Called on a background thread,
+     * or on the main thread when a page is bound before its model is ready, so it must
+     * only read data that is safe to access from both.
+     */
+    @WorkerThread
+    public abstract M prepare(int index);
+
+    public abstract void onBindCarouselViewHolder(VH holder, int index, M model);
+
+    /**
+     * Converts bind models to and from snapshot payloads. Keep the encoding compact and
+     * stable, a snapshot written by an older app version is read on the next start.
+     */
+    public interface SnapshotCodec<M> {
+        @WorkerThread
+        byte[] encode(M model);
+
+        /**
+         * @param payload read only view of the bytes returned by {@link #encode(Object)}
+         */
+        M decode(ByteBuffer payload);
+    }
+
+    private class ModelInvalidationObserver extends RecyclerView.AdapterDataObserver {
+        @Override
+        public void onChanged() {
+            invalidateModels();
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            invalidateRange(positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+            invalidateRange(positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            invalidateModels();
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            invalidateModels();
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            invalidateModels();
+        }
+    }
+}
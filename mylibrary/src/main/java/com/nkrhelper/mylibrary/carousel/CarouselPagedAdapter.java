@@ -0,0 +1,174 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+import android.support.v7.widget.RecyclerView;
+
+import com.nkrhelper.carouselcore.ChunkWindow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Carousel adapter for large or remote item sets. Items are loaded from a
+ * {@link DataSource} in fixed size chunks on a background thread when a page of the chunk
+ * is bound, pages of a chunk still loading are bound as placeholders and rebound once it
+ * arrives. The chunk after the last one is the first one, so the loop keeps loading ahead
+ * across the wrap. Only {@link #setMaxLoadedItems(int)} items are kept, the chunks
+ * furthest from the last bound page are evicted first.
+ */
+
+public abstract class CarouselPagedAdapter<T, VH extends RecyclerView.ViewHolder> extends CarouselView.Adapter<VH> {
+    public static final int DEFAULT_CHUNK_SIZE = 20;
+    public static final int DEFAULT_MAX_LOADED_ITEMS = 200;
+
+    private final ChunkWindow<T> mChunks;
+    private DataSource<T> mDataSource;
+    private Executor mLoadExecutor;
+    private final ArrayList<VH> mPlaceholders = new ArrayList<>();
+
+    public CarouselPagedAdapter() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public CarouselPagedAdapter(int chunkSize) {
+        mChunks = new ChunkWindow<>(chunkSize, DEFAULT_MAX_LOADED_ITEMS, new ChunkLoader());
+    }
+
+    /**
+     * Replaces the data source, all loaded chunks are dropped and loads still running for
+     * the previous source are ignored. Must be called on the main thread.
+     */
+    public void setDataSource(@Nullable DataSource<T> dataSource) {
+        mDataSource = dataSource;
+        mPlaceholders.clear();
+        mChunks.reset(dataSource != null ? dataSource.getCount() : 0);
+        notifyDataSetChanged();
+    }
+
+    public void setLoadExecutor(Executor executor) {
+        mLoadExecutor = executor;
+    }
+
+    /**
+     * Memory budget in items, rounded down to whole chunks. At least two chunks are kept so
+     * the chunk being bound and the one ahead of it are never evicted.
+     */
+    public void setMaxLoadedItems(int maxLoadedItems) {
+        mChunks.setMaxLoadedItems(maxLoadedItems);
+    }
+
+    public int getMaxLoadedItems() {
+        return mChunks.getMaxLoadedItems();
+    }
+
+    public int getChunkSize() {
+        return mChunks.getChunkSize();
+    }
+
+    public int getLoadedChunkCount() {
+        return mChunks.getLoadedChunkCount();
+    }
+
+    /**
+     * Returns the item at {@code index}, or {@code null} while its chunk is not loaded.
+     * Does not start a load.
+     */
+    @Nullable
+    public T getItem(int index) {
+        return mChunks.getItem(index);
+    }
+
+    @Override
+    public int getActualItemCount() {
+        return mChunks.getItemCount();
+    }
+
+    @Override
+    public final void onBindCarouselViewHolder(VH holder, int index) {
+        mChunks.bind(index);
+
+        if(!mChunks.isLoaded(index)) {
+            if(!mPlaceholders.contains(holder)) {
+                mPlaceholders.add(holder);
+            }
+            onBindPlaceholder(holder, index);
+        } else {
+            mPlaceholders.remove(holder);
+            onBindCarouselItem(holder, index, mChunks.getItem(index));
+        }
+    }
+
+    @Override
+    public void onViewRecycled(VH holder) {
+        super.onViewRecycled(holder);
+        mPlaceholders.remove(holder);
+    }
+
+    /**
+     * Keeps only the chunk of the last bound page, evicted chunks are loaded again when
+     * their pages are bound. Returns the number of released items.
+     */
+    @Override
+    public int onTrimMemory(int level) {
+        return mChunks.trimToCurrent();
+    }
+
+    private void onChunkLoaded(int generation, int chunk, @Nullable List<T> items) {
+        if(!mChunks.onChunkLoaded(generation, chunk, items)) {
+            return;
+        }
+
+        // rebind the placeholders of this chunk, including the ones in the item view cache
+
+        for(int i = mPlaceholders.size() - 1; i >= 0; i--) {
+            int position = mPlaceholders.get(i).getAdapterPosition();
+            if(position != RecyclerView.NO_POSITION && mChunks.getChunk(getItemIndex(position)) == chunk) {
+                notifyItemChanged(position);
+            }
+        }
+    }
+
+    private class ChunkLoader implements ChunkWindow.Loader {
+        @Override
+        public void loadChunk(final int chunk, final int start, final int count, final int generation) {
+            final DataSource<T> dataSource = mDataSource;
+            Executor executor = (mLoadExecutor != null ? mLoadExecutor : CarouselExecutors.getBackgroundExecutor());
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    final List<T> items = dataSource.loadRange(start, count);
+
+                    CarouselExecutors.getMainHandler().post(new Runnable() {
+                        @Override
+                        public void run() {
+                            onChunkLoaded(generation, chunk, items);
+                        }
+                    });
+                }
+            });
+        }
+    }
+
+    public abstract void onBindCarouselItem(VH holder, int index, T item);
+    public abstract void onBindPlaceholder(VH holder, int index);
+
+    public static abstract class DataSource<T> {
+        /**
+         * Total number of items, called on the main thread when the source is set.
+         */
+        public abstract int getCount();
+
+        /**
+         * Loads {@code count} items starting at {@code start}. Returns {@code null} when
+         * loading failed, the chunk is then requested again by the next bind of one of its
+         * pages.
+         */
+        @WorkerThread
+        @Nullable
+        public abstract List<T> loadRange(int start, int count);
+    }
+}
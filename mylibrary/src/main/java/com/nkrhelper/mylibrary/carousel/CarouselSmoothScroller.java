@@ -0,0 +1,47 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.content.Context;
+import android.support.v7.widget.LinearSmoothScroller;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.animation.Interpolator;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Smooth scroller which moves the target page into place over a fixed duration, so a
+ * page change takes the same time whatever the size of the pages.
+ */
+
+class CarouselSmoothScroller extends LinearSmoothScroller {
+    private final int mDuration;
+    private final Interpolator mInterpolator;
+
+    CarouselSmoothScroller(Context context, int targetPosition, int duration, Interpolator interpolator) {
+        super(context);
+        mDuration = duration;
+        mInterpolator = interpolator;
+        setTargetPosition(targetPosition);
+    }
+
+    @Override
+    protected int getHorizontalSnapPreference() {
+        return SNAP_TO_START;
+    }
+
+    @Override
+    protected int getVerticalSnapPreference() {
+        return SNAP_TO_START;
+    }
+
+    @Override
+    protected void onTargetFound(View targetView, RecyclerView.State state, Action action) {
+        // the target is found within the first frame when it is next to the current page
+
+        int dx = calculateDxToMakeVisible(targetView, SNAP_TO_START);
+        int dy = calculateDyToMakeVisible(targetView, SNAP_TO_START);
+        if(dx != 0 || dy != 0) {
+            action.update(-dx, -dy, mDuration, mInterpolator);
+        }
+    }
+}
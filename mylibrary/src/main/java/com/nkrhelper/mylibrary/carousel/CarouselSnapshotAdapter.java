@@ -0,0 +1,105 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.support.annotation.Nullable;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import com.nkrhelper.carouselcore.CarouselPositions;
+import com.nkrhelper.carouselcore.CarouselSnapshot;
+
+import java.io.File;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Shows the pages of a snapshot written by {@link CarouselModelAdapter#writeSnapshot()}
+ * while live data is loading, starting on the page that was selected. Views are created
+ * and bound by the model adapter the snapshot came from, which does not need its data for
+ * that. A snapshot holding only a window of the pages does not loop. Hand the live adapter
+ * to {@link CarouselView#swapCarouselAdapter(CarouselView.Adapter)} once it is ready, the
+ * carousel stays on the same page and keeps its page views.
+ */
+
+public class CarouselSnapshotAdapter<M, VH extends RecyclerView.ViewHolder> extends CarouselView.Adapter<VH> {
+    private final CarouselModelAdapter<M, VH> mBinder;
+    private final CarouselSnapshot mSnapshot;
+    private final CarouselModelAdapter.SnapshotCodec<M> mCodec;
+    private final Object[] mModels;
+
+    private CarouselSnapshotAdapter(CarouselModelAdapter<M, VH> binder, CarouselSnapshot snapshot,
+                                    CarouselModelAdapter.SnapshotCodec<M> codec) {
+        mBinder = binder;
+        mSnapshot = snapshot;
+        mCodec = codec;
+        mModels = new Object[snapshot.getEntryCount()];
+
+        // a window of a larger carousel would loop from its last page to its first one
+
+        setLoopMode(snapshot.getEntryCount() < snapshot.getItemCount() ? CarouselView.LOOP_NONE : binder.getLoopMode());
+    }
+
+    /**
+     * Maps the snapshot in {@code file}, returns {@code null} when there is none or it
+     * cannot be read. Cheap enough for the main thread, models are decoded when their page
+     * is bound.
+     */
+    @Nullable
+    public static <M, VH extends RecyclerView.ViewHolder> CarouselSnapshotAdapter<M, VH> read(
+            File file, CarouselModelAdapter<M, VH> binder, CarouselModelAdapter.SnapshotCodec<M> codec) {
+        CarouselSnapshot snapshot = CarouselSnapshot.read(file);
+        if(snapshot == null || snapshot.getEntryCount() == 0) {
+            return null;
+        }
+
+        return new CarouselSnapshotAdapter<>(binder, snapshot, codec);
+    }
+
+    /**
+     * Maps a page of this adapter to the index of the page it shows in the live data.
+     */
+    public int getSnapshotIndex(int index) {
+        return mSnapshot.getIndex(index);
+    }
+
+    @Override
+    public int getActualItemCount() {
+        return mSnapshot.getEntryCount();
+    }
+
+    @Override
+    public int getStartPosition() {
+        int startPosition = super.getStartPosition();
+        int entry = mSnapshot.findEntry(mSnapshot.getSelectedIndex());
+        if(entry < 0) {
+            return startPosition;
+        }
+
+        return CarouselPositions.getPositionForIndex(entry, startPosition, getActualItemCount(), getLoopMode());
+    }
+
+    @Override
+    public int getCarouselItemViewType(int index) {
+        return mBinder.getCarouselItemViewType(mSnapshot.getIndex(index));
+    }
+
+    @Override
+    public VH onCreateViewHolder(ViewGroup parent, int viewType) {
+        return mBinder.onCreateViewHolder(parent, viewType);
+    }
+
+    @Override
+    public void onBindCarouselViewHolder(VH holder, int index) {
+        mBinder.onBindCarouselViewHolder(holder, mSnapshot.getIndex(index), getModel(index));
+    }
+
+    @SuppressWarnings("unchecked")
+    private M getModel(int index) {
+        Object model = mModels[index];
+        if(model == null) {
+            model = mCodec.decode(mSnapshot.getPayload(index));
+            mModels[index] = model;
+        }
+
+        return (M) model;
+    }
+}
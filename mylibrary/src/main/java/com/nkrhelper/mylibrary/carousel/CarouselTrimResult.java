@@ -0,0 +1,66 @@
+package com.nkrhelper.mylibrary.carousel;
+
+/**
+ * Created 18/10/2026.
+ *
+ * What a {@link CarouselView} released for one memory trim level, see
+ * {@link CarouselView#trimMemory(int)}.
+ */
+
+public final class CarouselTrimResult {
+    private final int mLevel;
+    private final int mReleasedViewCount;
+    private final int mReleasedCacheEntryCount;
+    private final int mReleasedDrawableCount;
+    private final boolean mAutoPlayPaused;
+
+    CarouselTrimResult(int level, int releasedViewCount, int releasedCacheEntryCount,
+                       int releasedDrawableCount, boolean autoPlayPaused) {
+        mLevel = level;
+        mReleasedViewCount = releasedViewCount;
+        mReleasedCacheEntryCount = releasedCacheEntryCount;
+        mReleasedDrawableCount = releasedDrawableCount;
+        mAutoPlayPaused = autoPlayPaused;
+    }
+
+    /**
+     * The {@link android.content.ComponentCallbacks2} trim level.
+     */
+    public int getLevel() {
+        return mLevel;
+    }
+
+    /**
+     * Page views dropped from the item view cache and the recycled view pool.
+     */
+    public int getReleasedViewCount() {
+        return mReleasedViewCount;
+    }
+
+    /**
+     * Entries dropped by {@link CarouselView.Adapter#onTrimMemory(int)}, e.g. bind models
+     * or loaded items.
+     */
+    public int getReleasedCacheEntryCount() {
+        return mReleasedCacheEntryCount;
+    }
+
+    public int getReleasedDrawableCount() {
+        return mReleasedDrawableCount;
+    }
+
+    public boolean isAutoPlayPaused() {
+        return mAutoPlayPaused;
+    }
+
+    @Override
+    public String toString() {
+        return "CarouselTrimResult{" +
+                "level=" + mLevel +
+                ", releasedViews=" + mReleasedViewCount +
+                ", releasedCacheEntries=" + mReleasedCacheEntryCount +
+                ", releasedDrawables=" + mReleasedDrawableCount +
+                ", autoPlayPaused=" + mAutoPlayPaused +
+                '}';
+    }
+}
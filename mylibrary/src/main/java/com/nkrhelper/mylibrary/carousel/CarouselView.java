@@ -1,34 +1,42 @@
 package com.nkrhelper.mylibrary.carousel;
 
+import android.content.ComponentCallbacks2;
 import android.content.Context;
-import android.content.res.TypedArray;
-import android.graphics.PorterDuff;
+import android.content.res.Configuration;
+import android.graphics.Rect;
 import android.graphics.drawable.Drawable;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
 import android.support.v4.content.ContextCompat;
-import android.support.v7.widget.AppCompatImageView;
+import android.support.v4.os.TraceCompat;
+import android.support.v4.view.ViewCompat;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.PagerSnapHelper;
 import android.support.v7.widget.RecyclerView;
 import android.support.v7.widget.SnapHelper;
 import android.util.AttributeSet;
-import android.view.Gravity;
-import android.view.LayoutInflater;
+import android.util.SparseBooleanArray;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.Interpolator;
 import android.widget.FrameLayout;
-import android.widget.LinearLayout;
 
+import com.nkrhelper.carouselcore.AutoPlayClock;
+import com.nkrhelper.carouselcore.CarouselPositions;
+import com.nkrhelper.carouselcore.DeferralPolicy;
+import com.nkrhelper.carouselcore.ImpressionBatch;
+import com.nkrhelper.carouselcore.PageChangeTracker;
+import com.nkrhelper.carouselcore.PageVisibilityTracker;
+import com.nkrhelper.carouselcore.TickScheduler;
 import com.nkrhelper.mylibrary.R;
 
-import java.util.concurrent.TimeUnit;
-
-import io.reactivex.Observable;
-import io.reactivex.android.schedulers.AndroidSchedulers;
-import io.reactivex.disposables.Disposable;
-import io.reactivex.functions.Consumer;
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
 
 /**
  * Created 09/05/2017.
@@ -39,402 +47,2069 @@ public class CarouselView extends FrameLayout {
     public static final int VERTICAL = 1;
     public static final int FORWARD = 0;
     public static final int BACKWARD = 1;
+    public static final int LOOP_EDGE_ITEMS = CarouselPositions.LOOP_EDGE_ITEMS;
+    public static final int LOOP_VIRTUAL = CarouselPositions.LOOP_VIRTUAL;
+    public static final int LOOP_NONE = CarouselPositions.LOOP_NONE;
+    public static final int TRANSITION_SCROLL = 0;
+    public static final int TRANSITION_CROSSFADE = 1;
+
+    private static final int DEFAULT_ITEM_VIEW_CACHE_SIZE = 2;
+    private static final int MAX_SMOOTH_SCROLL_DISTANCE = 2;
+    private static final int DEFAULT_CROSSFADE_DURATION = 300;
+
+    private static final String TRACE_BIND = "CarouselView bind";
+    private static final String TRACE_AUTO_PLAY = "CarouselView autoPlay";
 
     private RecyclerView mCarouselRecyclerView;
+    private CarouselLayoutManager mLayoutManager;
+    private SnapHelper mSnapHelper;
+    private CarouselScrollListener mCarouselScrollListener;
+    private PageTransformHelper mPageTransformHelper;
+    private final ArrayList<OnPageChangeListener> mOnPageChangeListeners = new ArrayList<>();
+    private final ArrayList<OnPageProgressListener> mOnPageProgressListeners = new ArrayList<>();
+    private final ItemCountObserver mItemCountObserver = new ItemCountObserver();
+    private MetricsRecorder mMetricsRecorder;
+    private final CarouselConfig mConfig;
     private AutoPlayController mAutoPlayController;
     private IndicatorView mIndicatorView;
+    private ViewportTracker mViewportTracker;
+    private int mScrollDuration;
+    private Interpolator mScrollInterpolator;
+    private int mOffscreenPageLimit;
+    private final MemoryTrimCallbacks mMemoryTrimCallbacks = new MemoryTrimCallbacks();
+    private boolean mTrimmed;
+    private CarouselTrimResult mLastTrimResult;
+    private boolean mOwnsRecycledViewPool = true;
+    private ImpressionTracker mImpressionTracker;
+    private final PageLifecycleDispatcher mPageLifecycleDispatcher = new PageLifecycleDispatcher();
+    private int mTransition;
+    private CrossfadeAnimator mCrossfadeAnimator;
+    private final PendingSmoothScroll mPendingSmoothScroll = new PendingSmoothScroll();
+    private ViewHolderPreInflater mPreInflater;
+    private int mPreInflateCount;
+
+    public CarouselView(@NonNull Context context) {
+        this(context, new CarouselConfig.Builder().build());
+    }
+
+    /**
+     * Creates a carousel in code, nothing is inflated and no attributes are parsed.
+     */
+    public CarouselView(@NonNull Context context, @NonNull CarouselConfig config) {
+        super(context);
+        mConfig = config;
+        setupComponents(context);
+    }
 
     public CarouselView(@NonNull Context context, @Nullable AttributeSet attrs) {
         super(context, attrs);
+        mConfig = CarouselConfig.fromAttributes(context, attrs);
+        setupComponents(context);
+    }
+
+    private void setupComponents(Context context) {
+        mTransition = mConfig.getTransition();
+        setupCarouselRecyclerView(context);
+        mScrollDuration = mConfig.getScrollDuration();
+        mScrollInterpolator = new DecelerateInterpolator();
+        mPreInflateCount = mConfig.getPreInflateCount();
 
-        // inflate layout
+        mViewportTracker = new ViewportTracker();
+        mViewportTracker.setVisibleThreshold(mConfig.getAutoPlayVisibleThreshold());
 
-        LayoutInflater layoutInflater = (LayoutInflater) context.getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-        layoutInflater.inflate(R.layout.view_carousel, this, true);
+        // the auto play and indicator subsystems are only created when enabled
 
-        // setup components
+        if(mConfig.isAutoPlay()) {
+            getAutoPlayController().start();
+        }
 
-        setupCarouselRecyclerView(context, attrs);
-        setupAutoPlayController(context, attrs);
-        setupIndicatorView(context, attrs);
+        if(mConfig.isShowIndicators()) {
+            getIndicatorView();
+        }
     }
 
     @Override
     protected void onWindowVisibilityChanged(int visibility) {
         super.onWindowVisibilityChanged(visibility);
+        if(visibility == VISIBLE) {
+            restoreAfterTrim();
+        }
+
+        if(visibility == VISIBLE) {
+            mPageLifecycleDispatcher.updateVisibility();
+        } else {
+            mPageLifecycleDispatcher.hideAll();
+        }
+
+        if(mImpressionTracker != null) {
+            if(visibility == VISIBLE) {
+                mImpressionTracker.update();
+            } else {
+                mImpressionTracker.endAll();
+            }
+        }
+
+        if(mAutoPlayController == null) {
+            return;
+        }
+
         if(visibility == GONE || visibility == INVISIBLE) {
-            mAutoPlayController.pause();
+            mAutoPlayController.pause(AutoPlayController.PAUSE_WINDOW);
         } else if(visibility == VISIBLE) {
-            mAutoPlayController.resume();
+            mAutoPlayController.resume(AutoPlayController.PAUSE_WINDOW);
+        }
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        // pages pre-inflated off the main thread join the pool before the pages are laid out
+
+        if(mPreInflater != null) {
+            mPreInflater.drain();
+        }
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        super.onLayout(changed, left, top, right, bottom);
+        if(mMetricsRecorder != null && mCarouselRecyclerView.getChildCount() > 0) {
+            mMetricsRecorder.recordLayout(System.nanoTime());
         }
     }
 
     @Override
     protected void onAttachedToWindow() {
         super.onAttachedToWindow();
-        mAutoPlayController.resume();
+        getContext().getApplicationContext().registerComponentCallbacks(mMemoryTrimCallbacks);
+        restoreAfterTrim();
+        startPreInflation();
+        mPageLifecycleDispatcher.updateVisibility();
+
+        if(mAutoPlayController != null || mImpressionTracker != null) {
+            mViewportTracker.attach();
+        }
+        if(mAutoPlayController != null) {
+            mAutoPlayController.resume(AutoPlayController.PAUSE_DETACHED);
+        }
     }
 
     @Override
     protected void onDetachedFromWindow() {
         super.onDetachedFromWindow();
-        mAutoPlayController.pause();
+        getContext().getApplicationContext().unregisterComponentCallbacks(mMemoryTrimCallbacks);
+
+        if(mPreInflater != null) {
+            mPreInflater.stop();
+        }
+
+        finishCrossfade();
+        mPendingSmoothScroll.cancel();
+        mPageLifecycleDispatcher.hideAll();
+        if(mImpressionTracker != null) {
+            mImpressionTracker.endAll();
+        }
+
+        mViewportTracker.detach();
+        if(mAutoPlayController != null) {
+            mAutoPlayController.pause(AutoPlayController.PAUSE_DETACHED);
+        }
     }
 
-    private void setupCarouselRecyclerView(Context context, @Nullable AttributeSet attrs) {
-        TypedArray typedArray = context.obtainStyledAttributes(attrs, R.styleable.CarouselView);
-        int orientation = typedArray.getInteger(R.styleable.CarouselView_carousel_orientation, HORIZONTAL);
-        int carouselOrientation = (orientation == HORIZONTAL ? LinearLayoutManager.HORIZONTAL : LinearLayoutManager.VERTICAL);
-        typedArray.recycle();
+    private void setupCarouselRecyclerView(Context context) {
+        int carouselOrientation = (mConfig.getOrientation() == HORIZONTAL ? LinearLayoutManager.HORIZONTAL : LinearLayoutManager.VERTICAL);
 
-        // get recycler view
+        // create recycler view
 
-        mCarouselRecyclerView = (RecyclerView) getChildAt(0);
+        mCarouselRecyclerView = new RecyclerView(context);
+        mCarouselRecyclerView.setRecycledViewPool(new CarouselViewPool());
+        addView(mCarouselRecyclerView, new FrameLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT,
+                ViewGroup.LayoutParams.MATCH_PARENT));
 
         // set layout manager
 
-        LinearLayoutManager layoutManager = new LinearLayoutManager(context, carouselOrientation, false);
-        mCarouselRecyclerView.setLayoutManager(layoutManager);
+        mLayoutManager = new CarouselLayoutManager(context, carouselOrientation);
+        mCarouselRecyclerView.setLayoutManager(mLayoutManager);
+        setOffscreenPageLimit(mConfig.getOffscreenPageLimit());
+        if(mConfig.getPrefetchCount() > 0) {
+            setPrefetchCount(mConfig.getPrefetchCount());
+        }
 
         // set snap helper
 
-        SnapHelper snapHelper = new PagerSnapHelper();
-        snapHelper.attachToRecyclerView(mCarouselRecyclerView);
+        mSnapHelper = new CarouselSnapHelper();
+        mSnapHelper.attachToRecyclerView(mCarouselRecyclerView);
 
         // set scroll listener
 
-        mCarouselRecyclerView.addOnScrollListener(new CarouselScrollListener());
+        mCarouselScrollListener = new CarouselScrollListener();
+        mCarouselRecyclerView.addOnScrollListener(mCarouselScrollListener);
+        mPageTransformHelper = new PageTransformHelper(mCarouselRecyclerView);
 
         // set touch listener
 
         mCarouselRecyclerView.setOnTouchListener(new CarouselTouchListener());
     }
 
-    private void setupAutoPlayController(Context context, @Nullable AttributeSet attrs) {
-        TypedArray typedArray = context.obtainStyledAttributes(attrs, R.styleable.CarouselView);
-        boolean autoPlayEnabled = typedArray.getBoolean(R.styleable.CarouselView_carousel_auto_play, true);
-        int autoPlayInterval = typedArray.getInteger(R.styleable.CarouselView_carousel_auto_play_interval, 5000);
-        int autoPlayDirection = typedArray.getInteger(R.styleable.CarouselView_carousel_auto_play_direction, FORWARD);
-        typedArray.recycle();
+    private AutoPlayController getAutoPlayController() {
+        if(mAutoPlayController != null) {
+            return mAutoPlayController;
+        }
 
-        mAutoPlayController = new AutoPlayController(autoPlayInterval) {
+        mAutoPlayController = new AutoPlayController(mConfig.getAutoPlayInterval()) {
             @Override
             void onPlayForward() {
-                navigateForward();
+                autoPlay(FORWARD);
             }
 
             @Override
             void onPlayBackward() {
-                navigateBackward();
+                autoPlay(BACKWARD);
             }
         };
 
-        mAutoPlayController.setPlayDirection(autoPlayDirection);
+        mAutoPlayController.setPlayDirection(mConfig.getAutoPlayDirection());
+        mAutoPlayController.setGroup(mConfig.getAutoPlayGroup());
 
-        if(autoPlayEnabled) {
-            mAutoPlayController.start();
+        // created after attaching, catch up with the window state
+
+        if(ViewCompat.isAttachedToWindow(this)) {
+            if(getWindowVisibility() != VISIBLE) {
+                mAutoPlayController.pause(AutoPlayController.PAUSE_WINDOW);
+            }
+            mViewportTracker.attach();
+            mAutoPlayController.resume(AutoPlayController.PAUSE_DETACHED);
         }
+
+        return mAutoPlayController;
     }
 
-    private void setupIndicatorView(Context context, @Nullable AttributeSet attrs) {
+    private IndicatorView getIndicatorView() {
+        if(mIndicatorView != null) {
+            return mIndicatorView;
+        }
+
+        Context context = getContext();
         mIndicatorView = new IndicatorView(context);
 
         FrameLayout.LayoutParams layoutParams = new FrameLayout.LayoutParams(
                 ViewGroup.LayoutParams.WRAP_CONTENT,
                 ViewGroup.LayoutParams.WRAP_CONTENT);
+        layoutParams.gravity = mConfig.getIndicatorLayoutGravity();
+        layoutParams.setMargins(mConfig.getIndicatorLayoutMarginLeft(), mConfig.getIndicatorLayoutMarginTop(),
+                mConfig.getIndicatorLayoutMarginRight(), mConfig.getIndicatorLayoutMarginBottom());
+        addView(mIndicatorView, layoutParams);
 
         // setup indicator properties
 
-        TypedArray typedArray = context.obtainStyledAttributes(attrs, R.styleable.CarouselView);
-        int orientation = typedArray.getInteger(R.styleable.CarouselView_carousel_orientation, HORIZONTAL);
-        int indicatorOrientation = (orientation == HORIZONTAL ? LinearLayout.HORIZONTAL : LinearLayout.VERTICAL);
-        boolean showIndicatorView = typedArray.getBoolean(R.styleable.CarouselView_show_indicators, true);
-        int indicatorLayoutGravity = typedArray.getInteger(R.styleable.CarouselView_indicator_layout_gravity,
-                Gravity.BOTTOM | Gravity.CENTER);
-        int indicatorLayoutMarginLeft = typedArray.getDimensionPixelSize(R.styleable.CarouselView_indicator_layout_margin_left, 0);
-        int indicatorLayoutMarginTop = typedArray.getDimensionPixelSize(R.styleable.CarouselView_indicator_layout_margin_top, 0);
-        int indicatorLayoutMarginRight = typedArray.getDimensionPixelSize(R.styleable.CarouselView_indicator_layout_margin_right, 0);
-        int indicatorLayoutMarginBottom = typedArray.getDimensionPixelSize(R.styleable.CarouselView_indicator_layout_margin_bottom, 0);
-        int indicatorSize = typedArray.getDimensionPixelSize(R.styleable.CarouselView_indicator_size, 20);
-        int indicatorMarginLeft = typedArray.getDimensionPixelSize(R.styleable.CarouselView_indicator_margin_left, 0);
-        int indicatorMarginTop = typedArray.getDimensionPixelSize(R.styleable.CarouselView_indicator_margin_top, 0);
-        int indicatorMarginRight = typedArray.getDimensionPixelSize(R.styleable.CarouselView_indicator_margin_right, 0);
-        int indicatorMarginBottom = typedArray.getDimensionPixelSize(R.styleable.CarouselView_indicator_margin_bottom, 0);
-        Drawable indicatorNormalState = typedArray.getDrawable(R.styleable.CarouselView_indicator_normal_state);
-        if(indicatorNormalState == null) {
-            indicatorNormalState = ContextCompat.getDrawable(context, R.drawable.ic_carousel_indicator_normal);
-        }
-        Drawable indicatorSelectedState = typedArray.getDrawable(R.styleable.CarouselView_indicator_selected_state);
-        if(indicatorSelectedState == null) {
-            indicatorSelectedState = ContextCompat.getDrawable(context, R.drawable.ic_carousel_indicator_selected);
-        }
-        int normalStateColor = typedArray.getColor(R.styleable.CarouselView_indicator_normal_state_color,
-                ContextCompat.getColor(context, android.R.color.white));
-        int selectedStateColor = typedArray.getColor(R.styleable.CarouselView_indicator_selected_state_color,
-                ContextCompat.getColor(context, android.R.color.white));
-        typedArray.recycle();
-
-        layoutParams.gravity = indicatorLayoutGravity;
-        layoutParams.setMargins(indicatorLayoutMarginLeft, indicatorLayoutMarginTop,
-                indicatorLayoutMarginRight, indicatorLayoutMarginBottom);
-        addView(mIndicatorView, layoutParams);
+        mIndicatorView.setOrientation(mConfig.getOrientation());
+        mIndicatorView.setIndicatorSize(mConfig.getIndicatorSize());
+        mIndicatorView.setMaxVisibleCount(mConfig.getIndicatorMaxVisible());
+        mIndicatorView.setIndicatorMargins(mConfig.getIndicatorMarginLeft(), mConfig.getIndicatorMarginTop(),
+                mConfig.getIndicatorMarginRight(), mConfig.getIndicatorMarginBottom());
+        applyIndicatorDrawables(mIndicatorView);
+
+        // created after an adapter was set, catch up with its pages
+
+        Adapter<?> adapter = (Adapter<?>) mCarouselRecyclerView.getAdapter();
+        if(adapter != null) {
+            mIndicatorView.buildIndicators(adapter.getActualItemCount());
+            int currentItem = getCurrentItem();
+            if(currentItem != RecyclerView.NO_POSITION) {
+                mIndicatorView.setIndicatorPosition(currentItem);
+            }
+        }
+
+        return mIndicatorView;
+    }
+
+    private void applyIndicatorDrawables(IndicatorView indicatorView) {
+        // drawables are only resolved once the indicator exists, and again after a memory trim
+
+        Context context = getContext();
+        int normalState = mConfig.getIndicatorNormalState();
+        int selectedState = mConfig.getIndicatorSelectedState();
+        Drawable indicatorNormalState = ContextCompat.getDrawable(context,
+                normalState != 0 ? normalState : R.drawable.ic_carousel_indicator_normal);
+        Drawable indicatorSelectedState = ContextCompat.getDrawable(context,
+                selectedState != 0 ? selectedState : R.drawable.ic_carousel_indicator_selected);
+
+        indicatorView.setIndicatorStateDrawables(indicatorNormalState, indicatorSelectedState);
+        indicatorView.setIndicatorStateColors(mConfig.getIndicatorNormalStateColor(),
+                mConfig.getIndicatorSelectedStateColor());
+    }
+
+    /**
+     * Returns the settings this carousel was created with, later setter calls are not
+     * reflected.
+     */
+    @NonNull
+    public CarouselConfig getConfig() {
+        return mConfig;
+    }
+
+    public void setCarouselAdapter(Adapter<?> adapter) {
+        replaceAdapter(adapter, false);
+    }
 
-        mIndicatorView.setVisibility(showIndicatorView ? View.VISIBLE : View.GONE);
-        mIndicatorView.setOrientation(indicatorOrientation);
-        mIndicatorView.setIndicatorSize(indicatorSize);
-        mIndicatorView.setIndicatorMargins(indicatorMarginLeft, indicatorMarginTop,
-                indicatorMarginRight, indicatorMarginBottom);
-        mIndicatorView.setIndicatorStateDrawables(indicatorNormalState, indicatorSelectedState);
-        mIndicatorView.setIndicatorStateColors(normalStateColor, selectedStateColor);
+    /**
+     * Replaces the adapter and stays on the page with the same index instead of starting
+     * over, e.g. to go from a {@link CarouselSnapshotAdapter} to live data. Page views of
+     * view types both adapters use are kept and rebound in place.
+     */
+    public void swapCarouselAdapter(Adapter<?> adapter) {
+        replaceAdapter(adapter, true);
     }
 
-    public void setCarouselAdapter(RecyclerView.Adapter adapter) {
-        mCarouselRecyclerView.setAdapter(adapter);
+    private void replaceAdapter(Adapter<?> adapter, boolean keepPage) {
+        if(mMetricsRecorder != null) {
+            mMetricsRecorder.recordAdapterSet(System.nanoTime());
+        }
+
+        RecyclerView.Adapter previousAdapter = mCarouselRecyclerView.getAdapter();
+        int index = RecyclerView.NO_POSITION;
+        if(previousAdapter != null) {
+            previousAdapter.unregisterAdapterDataObserver(mItemCountObserver);
+
+            // snapshot pages are numbered by entry, the live adapter by page index
+
+            index = (keepPage ? getCurrentItem() : RecyclerView.NO_POSITION);
+            if(previousAdapter instanceof CarouselSnapshotAdapter && index != RecyclerView.NO_POSITION) {
+                index = ((CarouselSnapshotAdapter<?, ?>) previousAdapter).getSnapshotIndex(index);
+            }
+        }
+
+        if(mCrossfadeAnimator != null) {
+            mCrossfadeAnimator.cancel();
+        }
+        mPendingSmoothScroll.cancel();
+
+        mPageLifecycleDispatcher.reset();
+        if(mImpressionTracker != null) {
+            mImpressionTracker.endAll();
+        }
+
+        if(keepPage && previousAdapter != null) {
+            mCarouselScrollListener.setTargetPosition(RecyclerView.NO_POSITION);
+            mCarouselRecyclerView.swapAdapter(adapter, false);
+        } else {
+            mCarouselScrollListener.reset();
+            mCarouselRecyclerView.setAdapter(adapter);
+        }
+        adapter.registerAdapterDataObserver(mItemCountObserver);
+        adapter.setMetricsRecorder(mMetricsRecorder);
 
+        int actualItemCount = adapter.getActualItemCount();
         if(adapter.getItemCount() > 0) {
-            mCarouselRecyclerView.scrollToPosition(1);
+            int position = adapter.getStartPosition();
+            if(index >= 0 && index < actualItemCount) {
+                position = CarouselPositions.getPositionForIndex(index, position, actualItemCount, adapter.getLoopMode());
+            }
+            mCarouselRecyclerView.scrollToPosition(position);
         }
 
-        mIndicatorView.buildIndicators(adapter.getItemCount() - 2);
+        startPreInflation();
+
+        if(mIndicatorView != null) {
+            mIndicatorView.buildIndicators(actualItemCount);
+        }
     }
 
-    public void navigateForward() {
-        LinearLayoutManager layoutManager = (LinearLayoutManager) mCarouselRecyclerView.getLayoutManager();
-        mCarouselRecyclerView.smoothScrollToPosition(layoutManager.findFirstVisibleItemPosition() + 1);
+    /**
+     * Starts or stops auto play, the auto play subsystem is created on first use.
+     */
+    public void setAutoPlayEnabled(boolean enabled) {
+        if(enabled) {
+            getAutoPlayController().start();
+        } else if(mAutoPlayController != null) {
+            mAutoPlayController.stop();
+        }
     }
 
-    public void navigateBackward() {
-        LinearLayoutManager layoutManager = (LinearLayoutManager) mCarouselRecyclerView.getLayoutManager();
-        mCarouselRecyclerView.smoothScrollToPosition(layoutManager.findFirstVisibleItemPosition() - 1);
+    public boolean isAutoPlayEnabled() {
+        return mAutoPlayController != null && mAutoPlayController.isEnabled();
     }
 
-    // carousel scroll logic
+    /**
+     * Sets when a due auto play tick is postponed because the UI thread is busy, e.g. a
+     * stricter policy for a heavy screen. {@link DeferralPolicy#NEVER} always fires on time.
+     */
+    public void setAutoPlayDeferralPolicy(@NonNull DeferralPolicy policy) {
+        getAutoPlayController().setDeferralPolicy(policy);
+    }
 
-    private class CarouselScrollListener extends RecyclerView.OnScrollListener {
-        @Override
-        public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
-            super.onScrolled(recyclerView, dx, dy);
+    /**
+     * Milliseconds between two auto played pages, shorter intervals are raised to
+     * {@link AutoPlayClock#MIN_INTERVAL}.
+     */
+    public void setAutoPlayInterval(long interval) {
+        getAutoPlayController().setInterval(interval);
+    }
 
-            LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
-            int currentPosition = layoutManager.findFirstVisibleItemPosition();
-            RecyclerView.Adapter adapter = recyclerView.getAdapter();
-            int itemCount = adapter.getItemCount();
-            int adapterPosition = currentPosition;
+    /**
+     * Carousels in the same auto play group advance together, {@code null} leaves the group.
+     */
+    public void setAutoPlayGroup(@Nullable String group) {
+        getAutoPlayController().setGroup(group);
+    }
 
-            if(itemCount <= 0) {
-                return;
+    /**
+     * Auto play pauses while less than {@code threshold} (0..1) of the carousel area is
+     * visible on screen and resumes once it is back above it.
+     */
+    public void setAutoPlayVisibleThreshold(float threshold) {
+        mViewportTracker.setVisibleThreshold(threshold);
+    }
+
+    /**
+     * Returns the visible fraction of the carousel area as of the last scroll or layout
+     * of the view tree.
+     */
+    public float getVisibleFraction() {
+        return mViewportTracker.getVisibleFraction();
+    }
+
+    /**
+     * Shows or hides the page indicator, the indicator is created on first use.
+     */
+    public void setIndicatorsVisible(boolean visible) {
+        if(visible) {
+            getIndicatorView().setVisibility(View.VISIBLE);
+        } else if(mIndicatorView != null) {
+            mIndicatorView.setVisibility(View.GONE);
+        }
+    }
+
+    public void setIndicatorMaxVisibleCount(int maxVisibleCount) {
+        getIndicatorView().setMaxVisibleCount(maxVisibleCount);
+    }
+
+    /**
+     * Keeps {@code limit} pages on each side of the current one laid out and bound. While
+     * scrolling the pages ahead are laid out in advance, the ones left behind stay in the
+     * item view cache and are laid out again without a rebind once the carousel settles.
+     */
+    public void setOffscreenPageLimit(int limit) {
+        mOffscreenPageLimit = Math.max(limit, 0);
+        if(!mTrimmed) {
+            applyOffscreenPageLimit(mOffscreenPageLimit);
+        }
+    }
+
+    public int getOffscreenPageLimit() {
+        return mOffscreenPageLimit;
+    }
+
+    private void applyOffscreenPageLimit(int limit) {
+        // a crossfade needs the neighbouring pages laid out already
+
+        if(mTransition == TRANSITION_CROSSFADE) {
+            limit = Math.max(limit, 1);
+        }
+
+        mLayoutManager.setOffscreenPageLimit(limit);
+        mCarouselRecyclerView.setItemViewCacheSize(Math.max(DEFAULT_ITEM_VIEW_CACHE_SIZE, limit * 2));
+    }
+
+    /**
+     * Releases memory for a {@link ComponentCallbacks2} trim level, called automatically
+     * while the carousel is attached. From {@link ComponentCallbacks2#TRIM_MEMORY_RUNNING_MODERATE}
+     * the recycled view pool is cleared unless it is shared, from {@link ComponentCallbacks2#TRIM_MEMORY_RUNNING_LOW}
+     * offscreen pages, the item view cache and adapter caches go as well, from
+     * {@link ComponentCallbacks2#TRIM_MEMORY_RUNNING_CRITICAL} auto play pauses and from
+     * {@link ComponentCallbacks2#TRIM_MEMORY_UI_HIDDEN} the indicator drops its drawables.
+     * Everything is rebuilt lazily once the carousel is shown or touched again.
+     */
+    public CarouselTrimResult trimMemory(int level) {
+        int releasedViews = 0;
+        int releasedCacheEntries = 0;
+        int releasedDrawables = 0;
+        boolean autoPlayPaused = false;
+
+        if(level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            // the item view cache is moved to the pool right away, offscreen pages on the next layout
+
+            mTrimmed = true;
+            mLayoutManager.setOffscreenPageLimit(0);
+            mCarouselRecyclerView.setItemViewCacheSize(0);
+
+            Adapter<?> adapter = (Adapter<?>) mCarouselRecyclerView.getAdapter();
+            if(adapter != null) {
+                releasedCacheEntries = adapter.onTrimMemory(level);
             }
+        }
 
-            if(currentPosition == itemCount - 1) {
-                // scrolled to last item, switch to the first item
+        if(level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE) {
+            if(mPreInflater != null) {
+                mPreInflater.stop();
+            }
 
-                adapterPosition = 1;
-                recyclerView.scrollToPosition(adapterPosition);
-            } else if(currentPosition == 0) {
-                // scrolled to the first dump item, switch to the last item
+            // a shared pool would be cleared and counted once per carousel, its owner trims it
 
-                adapterPosition = itemCount - 1;
-                recyclerView.scrollToPosition(adapterPosition);
+            if(mOwnsRecycledViewPool) {
+                CarouselViewPool pool = (CarouselViewPool) mCarouselRecyclerView.getRecycledViewPool();
+                releasedViews = pool.getRecycledViewCount();
+                pool.clear();
             }
+        }
+
+        if(level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL && mAutoPlayController != null) {
+            mTrimmed = true;
+            mAutoPlayController.pause(AutoPlayController.PAUSE_MEMORY);
+            autoPlayPaused = true;
+        }
 
-            mIndicatorView.setIndicatorPosition(adapterPosition - 1);
+        if(level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN && mIndicatorView != null) {
+            mTrimmed = true;
+            releasedDrawables = mIndicatorView.releaseDrawables();
         }
+
+        mLastTrimResult = new CarouselTrimResult(level, releasedViews, releasedCacheEntries,
+                releasedDrawables, autoPlayPaused);
+        return mLastTrimResult;
     }
 
-    // carousel touch logic
+    /**
+     * Returns what the last {@link #trimMemory(int)} released, or {@code null} when memory
+     * was never trimmed.
+     */
+    @Nullable
+    public CarouselTrimResult getLastTrimResult() {
+        return mLastTrimResult;
+    }
 
-    private class CarouselTouchListener implements RecyclerView.OnTouchListener {
+    private void restoreAfterTrim() {
+        if(!mTrimmed) {
+            return;
+        }
 
-        @Override
-        public boolean onTouch(View v, MotionEvent event) {
-            switch (event.getAction()) {
-                case MotionEvent.ACTION_DOWN : {
-                    mAutoPlayController.pause();
-                    break;
-                }
-                case MotionEvent.ACTION_UP : {
-                    mAutoPlayController.resume();
-                    break;
-                }
-            }
+        mTrimmed = false;
+        applyOffscreenPageLimit(mOffscreenPageLimit);
+        if(mAutoPlayController != null) {
+            mAutoPlayController.resume(AutoPlayController.PAUSE_MEMORY);
+        }
+        if(mIndicatorView != null && !mIndicatorView.hasDrawables()) {
+            applyIndicatorDrawables(mIndicatorView);
+        }
+    }
 
-            return false;
+    /**
+     * Number of pages prefetched when this carousel is itself about to scroll into view
+     * inside another {@link RecyclerView}, e.g. a vertical feed of carousels.
+     */
+    public void setPrefetchCount(int count) {
+        mLayoutManager.setInitialPrefetchItemCount(count);
+    }
+
+    public int getPrefetchCount() {
+        return mLayoutManager.getInitialPrefetchItemCount();
+    }
+
+    /**
+     * Inflates {@code count} page views per view type ahead of time and puts them into the
+     * recycled view pool. View types the adapter allows through
+     * {@link Adapter#canPreInflateOffMainThread(int)} are inflated on a background thread
+     * right after the adapter is set and are taken by the first layout when ready. Other
+     * types are inflated in main thread idle time, after the first frame of a carousel in a
+     * window, and serve the following pages. Applied to the current adapter and every
+     * adapter set later, 0 stops it.
+     */
+    public void setPreInflateCount(int count) {
+        mPreInflateCount = count;
+        if(count > 0) {
+            startPreInflation();
+        } else if(mPreInflater != null) {
+            mPreInflater.stop();
         }
     }
 
-    // carousel auto play
+    public int getPreInflateCount() {
+        return mPreInflateCount;
+    }
 
-    abstract class AutoPlayController {
-        private boolean mEnabled;
-        private Observable<Long> mObservable;
-        private Disposable mDisposable;
-        private long mInterval;
-        private int mPlayDirection;
+    private void startPreInflation() {
+        if(mPreInflateCount <= 0 || mCarouselRecyclerView.getAdapter() == null) {
+            return;
+        }
 
-        AutoPlayController(int interval) {
-            mInterval = interval;
+        if(mPreInflater == null) {
+            mPreInflater = new ViewHolderPreInflater(mCarouselRecyclerView);
         }
+        mPreInflater.start(mPreInflateCount);
+    }
 
-        abstract void onPlayForward();
-        abstract void onPlayBackward();
+    /**
+     * Shares recycled page views with other carousels, typically a {@link CarouselViewPool}
+     * owned by the screen. Pages of a detached carousel are returned to the pool.
+     * {@link #trimMemory(int)} leaves the pool to its owner.
+     */
+    public void setRecycledViewPool(RecyclerView.RecycledViewPool pool) {
+        LinearLayoutManager layoutManager = (LinearLayoutManager) mCarouselRecyclerView.getLayoutManager();
+        layoutManager.setRecycleChildrenOnDetach(true);
+        mOwnsRecycledViewPool = false;
+        mCarouselRecyclerView.setRecycledViewPool(pool);
+        startPreInflation();
+    }
 
-        void start() {
-            mEnabled = true;
-            resume();
+    public RecyclerView.RecycledViewPool getRecycledViewPool() {
+        return mCarouselRecyclerView.getRecycledViewPool();
+    }
+
+    /**
+     * Starts or stops collecting {@link CarouselMetrics} for this carousel. Disabled
+     * carousels only pay for a null check on the measured paths.
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        if(enabled == (mMetricsRecorder != null)) {
+            return;
         }
 
-        void resume() {
-            if(mEnabled) {
-                if(mObservable == null) {
-                    mObservable = Observable.interval(mInterval, TimeUnit.MILLISECONDS);
-                }
+        mMetricsRecorder = (enabled ? new MetricsRecorder() : null);
+        Adapter<?> adapter = (Adapter<?>) mCarouselRecyclerView.getAdapter();
+        if(adapter != null) {
+            adapter.setMetricsRecorder(mMetricsRecorder);
+        }
+    }
 
-                if(mDisposable == null || mDisposable.isDisposed()){
-                    // start a new subscription
-
-                    mDisposable = mObservable
-                            .observeOn(AndroidSchedulers.mainThread())
-                            .subscribe(new Consumer<Long>() {
-                                @Override
-                                public void accept(@io.reactivex.annotations.NonNull Long aLong) throws Exception {
-                                    if(mPlayDirection == FORWARD) {
-                                        onPlayForward();
-                                    } else if(mPlayDirection == BACKWARD) {
-                                        onPlayBackward();
-                                    }
-                                }
-                            });
-                }
-            }
+    public boolean isMetricsEnabled() {
+        return mMetricsRecorder != null;
+    }
+
+    /**
+     * Returns a snapshot of the metrics collected so far, or {@code null} when metrics are
+     * disabled.
+     */
+    @Nullable
+    public CarouselMetrics getMetrics() {
+        return mMetricsRecorder != null ? mMetricsRecorder.snapshot() : null;
+    }
+
+    public void resetMetrics() {
+        if(mMetricsRecorder != null) {
+            mMetricsRecorder.reset();
         }
+    }
 
-        void pause() {
-            if(mDisposable != null && !mDisposable.isDisposed()) {
-                mDisposable.dispose();
-            }
+    /**
+     * Sets a transformer called for every attached page on each scroll frame, e.g. for
+     * scale, alpha or parallax effects. Pages are drawn from hardware layers while the
+     * carousel scrolls. {@code null} removes the transformer and resets the pages.
+     */
+    public void setPageTransformer(@Nullable PageTransformer pageTransformer) {
+        mPageTransformHelper.setPageTransformer(pageTransformer);
+    }
+
+    public void addOnPageChangeListener(OnPageChangeListener listener) {
+        mOnPageChangeListeners.add(listener);
+    }
+
+    public void removeOnPageChangeListener(OnPageChangeListener listener) {
+        mOnPageChangeListeners.remove(listener);
+    }
+
+    public void addOnPageProgressListener(OnPageProgressListener listener) {
+        mOnPageProgressListeners.add(listener);
+    }
+
+    public void removeOnPageProgressListener(OnPageProgressListener listener) {
+        mOnPageProgressListeners.remove(listener);
+    }
+
+    /**
+     * Returns the scroll position in pages as last published to the
+     * {@link OnPageProgressListener}s, or {@link Float#NaN} before the first layout.
+     */
+    public float getPageProgress() {
+        return mCarouselScrollListener.getPageProgress();
+    }
+
+    /**
+     * Returns the index of the selected page, or {@link RecyclerView#NO_POSITION} before
+     * the first layout.
+     */
+    public int getCurrentItem() {
+        return mCarouselScrollListener.getSelectedIndex();
+    }
+
+    public int getScrollState() {
+        return mCarouselRecyclerView.getScrollState();
+    }
+
+    /**
+     * Duration of a smooth page change in milliseconds, used by auto play, navigation and
+     * {@link #setCurrentItem(int, boolean)}. Zero or less scrolls at the default speed of
+     * {@link RecyclerView}.
+     */
+    public void setScrollDuration(int duration) {
+        mScrollDuration = duration;
+    }
+
+    public int getScrollDuration() {
+        return mScrollDuration;
+    }
+
+    public void setScrollInterpolator(@NonNull Interpolator interpolator) {
+        mScrollInterpolator = interpolator;
+    }
+
+    public void setCurrentItem(int index) {
+        setCurrentItem(index, true);
+    }
+
+    /**
+     * Moves to page {@code index}. A smooth move to a page further away jumps next to it
+     * first, so only the final page is animated and the pages in between are never bound.
+     * Looping carousels move the shorter way around.
+     */
+    public void setCurrentItem(int index, boolean smooth) {
+        finishCrossfade();
+        mPendingSmoothScroll.cancel();
+
+        Adapter<?> adapter = (Adapter<?>) mCarouselRecyclerView.getAdapter();
+        if(adapter == null || index < 0 || index >= adapter.getActualItemCount()) {
+            return;
         }
 
-        void stop() {
-            mEnabled = false;
-            pause();
+        int currentPosition = mLayoutManager.findFirstVisibleItemPosition();
+        if(currentPosition == RecyclerView.NO_POSITION) {
+            currentPosition = adapter.getStartPosition();
+            smooth = false;
         }
 
-        void setPlayDirection(int direction) {
-            mPlayDirection = direction;
+        int targetPosition = CarouselPositions.getPositionForIndex(index, currentPosition,
+                adapter.getActualItemCount(), adapter.getLoopMode());
+
+        if(!smooth) {
+            mCarouselRecyclerView.scrollToPosition(targetPosition);
+            return;
         }
+
+        if(mTransition == TRANSITION_CROSSFADE && crossfadeToPosition(targetPosition)) {
+            return;
+        }
+
+        int distance = targetPosition - currentPosition;
+        if(Math.abs(distance) > MAX_SMOOTH_SCROLL_DISTANCE) {
+            // the scroller has to start from the layout after the jump, not the current one
+
+            mCarouselScrollListener.selectTarget(targetPosition);
+            mCarouselRecyclerView.scrollToPosition(distance > 0 ? targetPosition - 1 : targetPosition + 1);
+            mPendingSmoothScroll.post(targetPosition);
+            return;
+        }
+
+        smoothScrollToPosition(targetPosition);
     }
 
-    // carousel adapter
+    public void navigateForward() {
+        finishCrossfade();
+        mPendingSmoothScroll.cancel();
+        changePage(mLayoutManager.findFirstVisibleItemPosition() + 1);
+    }
 
-    public static abstract class Adapter<VH extends RecyclerView.ViewHolder> extends RecyclerView.Adapter<VH> {
-        @Override
-        public void onBindViewHolder(VH holder, int position) {
-            onBindCarouselViewHolder(holder, getItemIndex(position));
+    public void navigateBackward() {
+        finishCrossfade();
+        mPendingSmoothScroll.cancel();
+        changePage(mLayoutManager.findFirstVisibleItemPosition() - 1);
+    }
+
+    /**
+     * {@link #TRANSITION_SCROLL} scrolls to the next page. {@link #TRANSITION_CROSSFADE}
+     * fades the next page in over the current one without scrolling or layout work, pages
+     * which are not laid out yet, e.g. a distant {@link #setCurrentItem(int)} target, are
+     * still scrolled to.
+     */
+    public void setTransition(int transition) {
+        if(transition == mTransition) {
+            return;
         }
 
-        private int getItemIndex(int position) {
-            if(position == 0) {
-                return getActualItemCount() - 1;
-            } else if(position > 0 && position <= getActualItemCount()) {
-                return position - 1;
-            } else {
-                return 0;
-            }
+        finishCrossfade();
+        mTransition = transition;
+        if(!mTrimmed) {
+            applyOffscreenPageLimit(mOffscreenPageLimit);
         }
+    }
 
-        @Override
-        public int getItemCount() {
-            return getActualItemCount() + 2;
+    public int getTransition() {
+        return mTransition;
+    }
+
+    private void changePage(int position) {
+        if(mTransition == TRANSITION_CROSSFADE && crossfadeToPosition(position)) {
+            return;
         }
 
-        public abstract void onBindCarouselViewHolder(VH holder, int index);
-        public abstract int getActualItemCount();
+        smoothScrollToPosition(position);
     }
 
-    // indicator
+    private boolean crossfadeToPosition(int position) {
+        RecyclerView.Adapter adapter = mCarouselRecyclerView.getAdapter();
+        if(adapter == null || position < 0 || position >= adapter.getItemCount()
+                || mCarouselRecyclerView.getScrollState() != RecyclerView.SCROLL_STATE_IDLE) {
+            return false;
+        }
+
+        int currentPosition = mLayoutManager.findFirstVisibleItemPosition();
+        int duration = (mScrollDuration > 0 ? mScrollDuration : DEFAULT_CROSSFADE_DURATION);
+        if(!getCrossfadeAnimator().start(currentPosition, position, duration, mScrollInterpolator)) {
+            return false;
+        }
 
-    class IndicatorView extends LinearLayout {
-        private Drawable mNormalState;
-        private Drawable mSelectedState;
-        private int mIndicatorCount;
-        private int mCurrentPosition;
-        private int mIndicatorSize;
-        private int mIndicatorMarginLeft;
-        private int mIndicatorMarginTop;
-        private int mIndicatorMarginRight;
-        private int mIndicatorMarginBottom;
+        // the target is known right away, the settle follows once the fade moved it in place
 
-        public IndicatorView(Context context) {
-            super(context);
+        mCarouselScrollListener.selectTarget(position);
+        return true;
+    }
 
-            mIndicatorCount = 0;
-            mCurrentPosition = 0;
+    private void finishCrossfade() {
+        if(mCrossfadeAnimator != null) {
+            mCrossfadeAnimator.finish();
         }
+    }
 
-        private int updateIndicatorState(int position, boolean selected) {
-            if(mIndicatorCount == 0) {
-                return -1;
-            }
+    private CrossfadeAnimator getCrossfadeAnimator() {
+        if(mCrossfadeAnimator != null) {
+            return mCrossfadeAnimator;
+        }
+
+        mCrossfadeAnimator = new CrossfadeAnimator(mCarouselRecyclerView, new CrossfadeAnimator.Listener() {
+            @Override
+            public void onCrossfadeProgress(int fromPosition, int toPosition, float fraction) {
+                Adapter<?> adapter = (Adapter<?>) mCarouselRecyclerView.getAdapter();
+                if(mIndicatorView == null || adapter == null) {
+                    return;
+                }
 
-            position %= mIndicatorCount;
-            if(position >= 0  && position < getChildCount()) {
-                ((AppCompatImageView) getChildAt(position)).setImageDrawable(
-                        selected ? mSelectedState : mNormalState
-                );
+                // move the indicator along like a scroll between neighbouring pages would
 
-                return position;
+                if(toPosition == fromPosition + 1) {
+                    mIndicatorView.setIndicatorProgress(adapter.getItemIndex(fromPosition), fraction);
+                } else if(toPosition == fromPosition - 1) {
+                    mIndicatorView.setIndicatorProgress(adapter.getItemIndex(toPosition), 1f - fraction);
+                }
             }
+        });
+        return mCrossfadeAnimator;
+    }
 
-            return -1;
+    private void autoPlay(int direction) {
+        // a tick during a running scroll would stack another animation on top of it
+
+        RecyclerView.Adapter adapter = mCarouselRecyclerView.getAdapter();
+        boolean fired = (adapter != null && adapter.getItemCount() > 0
+                && mCarouselRecyclerView.getScrollState() == RecyclerView.SCROLL_STATE_IDLE
+                && (mCrossfadeAnimator == null || !mCrossfadeAnimator.isRunning()));
+
+        if(fired) {
+            TraceCompat.beginSection(TRACE_AUTO_PLAY);
+            try {
+                if(direction == FORWARD) {
+                    navigateForward();
+                } else {
+                    navigateBackward();
+                }
+            } finally {
+                TraceCompat.endSection();
+            }
         }
 
-        public void setIndicatorStateDrawables(Drawable normalState, Drawable selectedState) {
-            mNormalState = normalState;
-            mSelectedState = selectedState;
+        if(mMetricsRecorder != null) {
+            mMetricsRecorder.recordAutoPlayTick(fired);
         }
+    }
 
-        public void setIndicatorStateColors(int normalColor, int selectedColor) {
-            mNormalState.setColorFilter(normalColor, PorterDuff.Mode.SRC_ATOP);
-            mSelectedState.setColorFilter(selectedColor, PorterDuff.Mode.SRC_ATOP);
+    private void smoothScrollToPosition(int position) {
+        RecyclerView.Adapter adapter = mCarouselRecyclerView.getAdapter();
+        if(adapter == null || position < 0 || position >= adapter.getItemCount()) {
+            return;
         }
 
-        public void setIndicatorSize(int size) {
-            mIndicatorSize = size;
+        mCarouselScrollListener.setTargetPosition(position);
+        if(mScrollDuration > 0) {
+            mLayoutManager.startSmoothScroll(new CarouselSmoothScroller(getContext(), position,
+                    mScrollDuration, mScrollInterpolator));
+        } else {
+            mCarouselRecyclerView.smoothScrollToPosition(position);
         }
+    }
 
-        public void setIndicatorMargins(int left, int top, int right, int bottom) {
-            mIndicatorMarginLeft = left;
-            mIndicatorMarginTop = top;
-            mIndicatorMarginRight = right;
-            mIndicatorMarginBottom = bottom;
+    private class PendingSmoothScroll implements Runnable {
+        private int mPosition = RecyclerView.NO_POSITION;
+
+        void post(int position) {
+            cancel();
+            mPosition = position;
+            mCarouselRecyclerView.post(this);
         }
 
-        public void setIndicatorPosition(int position) {
-            if(position != mCurrentPosition) {
-                updateIndicatorState(mCurrentPosition, false);
-                position = updateIndicatorState(position, true);
-                if(position >= 0) {
-                    mCurrentPosition = position;
-                }
+        void cancel() {
+            if(mPosition != RecyclerView.NO_POSITION) {
+                mPosition = RecyclerView.NO_POSITION;
+                mCarouselRecyclerView.removeCallbacks(this);
             }
         }
 
-        public void buildIndicators(int count) {
-            removeAllViews();
+        boolean isPending() {
+            return mPosition != RecyclerView.NO_POSITION;
+        }
+
+        @Override
+        public void run() {
+            int position = mPosition;
+            mPosition = RecyclerView.NO_POSITION;
+            smoothScrollToPosition(position);
+        }
+    }
+
+    // impressions
 
-            mIndicatorCount = count;
+    /**
+     * Receives the impressions recorded since the previous batch. Called on a background
+     * thread, the batch is reused and must not be kept after returning.
+     */
+    public interface ImpressionConsumer {
+        @WorkerThread
+        void onImpressions(ImpressionBatch batch);
+    }
 
-            for(int i = 0; i < mIndicatorCount; i++) {
-                AppCompatImageView indicatorImg = new AppCompatImageView(getContext());
-                LinearLayout.LayoutParams layoutParams = new LinearLayout.LayoutParams(
-                        mIndicatorSize, mIndicatorSize);
-                layoutParams.setMargins(mIndicatorMarginLeft, mIndicatorMarginTop,
-                        mIndicatorMarginRight, mIndicatorMarginBottom);
-                indicatorImg.setImageDrawable(mNormalState);
-                addView(indicatorImg, layoutParams);
+    /**
+     * Records how long and how much of every page is visible and hands the impressions to
+     * {@code consumer} in batches, {@code null} stops tracking and flushes what was recorded.
+     */
+    public void setImpressionConsumer(@Nullable ImpressionConsumer consumer) {
+        if(consumer == null) {
+            if(mImpressionTracker != null) {
+                mImpressionTracker.endAll();
+                mImpressionTracker.requestFlush();
+                mImpressionTracker = null;
+            }
+            if(mAutoPlayController == null) {
+                mViewportTracker.detach();
             }
+            return;
+        }
+
+        getImpressionTracker().setConsumer(consumer);
+        mImpressionTracker.update();
+    }
+
+    /**
+     * Sets how long recorded impressions are buffered before they are handed to the
+     * consumer, defaults to {@value ImpressionTracker#DEFAULT_FLUSH_INTERVAL} ms.
+     */
+    public void setImpressionFlushInterval(long interval) {
+        getImpressionTracker().setFlushInterval(interval);
+    }
+
+    /**
+     * Pages less than {@code threshold} (0..1) visible inside the carousel do not count as
+     * an impression, defaults to half a page.
+     */
+    public void setImpressionVisibleThreshold(float threshold) {
+        getImpressionTracker().setVisibleThreshold(threshold);
+    }
 
-            updateIndicatorState(mCurrentPosition, true);
+    /**
+     * Hands the impressions recorded so far to the consumer without waiting for the flush
+     * interval, pages still visible are reported once they are left.
+     */
+    public void flushImpressions() {
+        if(mImpressionTracker != null) {
+            mImpressionTracker.requestFlush();
         }
     }
+
+    private ImpressionTracker getImpressionTracker() {
+        if(mImpressionTracker == null) {
+            mImpressionTracker = new ImpressionTracker(mCarouselRecyclerView);
+
+            // a list scrolling the carousel out of view ends its impressions too
+
+            if(ViewCompat.isAttachedToWindow(this)) {
+                mViewportTracker.attach();
+            }
+        }
+
+        return mImpressionTracker;
+    }
+
+    // page transformer
+
+    public interface PageTransformer {
+        /**
+         * @param page     the page, only its render properties can be changed
+         * @param position offset of the page from the current one in pages, 0 when it
+         *                 fills the carousel, -1 one page before and 1 one page after it
+         */
+        void transformPage(TransformablePage page, float position);
+    }
+
+    // page change listener
+
+    public interface OnPageChangeListener {
+        /**
+         * Called once per page change with the index of the page the carousel is going to
+         * rest on, as soon as the target is known.
+         */
+        void onPageSelected(int index);
+
+        /**
+         * @param state one of the {@link RecyclerView} {@code SCROLL_STATE_*} constants
+         */
+        void onPageScrollStateChanged(int state);
+
+        /**
+         * Called when scrolling stopped on the page at {@code index}.
+         */
+        void onPageSettled(int index);
+    }
+
+    public interface OnPageProgressListener {
+        /**
+         * Called on every scroll frame which moved the carousel.
+         *
+         * @param progress  index of the first visible page plus the fraction it is scrolled
+         *                  out, in [0, itemCount). Scrolling forward from the last page
+         *                  continues from itemCount - 1 towards itemCount and wraps to 0,
+         *                  the jump over a dummy edge item is not visible here.
+         * @param itemCount number of pages
+         */
+        void onPageProgress(float progress, int itemCount);
+    }
+
+    public static class SimpleOnPageChangeListener implements OnPageChangeListener {
+        @Override
+        public void onPageSelected(int index) {
+        }
+
+        @Override
+        public void onPageScrollStateChanged(int state) {
+        }
+
+        @Override
+        public void onPageSettled(int index) {
+        }
+    }
+
+    // carousel scroll logic
+
+    private class CarouselScrollListener extends RecyclerView.OnScrollListener {
+        private final PageChangeTracker mPageChangeTracker = new PageChangeTracker();
+        private int mTargetPosition = RecyclerView.NO_POSITION;
+        private float mPageProgress = Float.NaN;
+
+        void setTargetPosition(int position) {
+            mTargetPosition = position;
+        }
+
+        void reset() {
+            mTargetPosition = RecyclerView.NO_POSITION;
+            mPageChangeTracker.reset();
+            mPageProgress = Float.NaN;
+        }
+
+        float getPageProgress() {
+            return mPageProgress;
+        }
+
+        int getSelectedIndex() {
+            return mPageChangeTracker.getSelectedIndex();
+        }
+
+        void selectTarget(int position) {
+            selectPosition(mCarouselRecyclerView, position);
+        }
+
+        @Override
+        public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+            super.onScrollStateChanged(recyclerView, newState);
+
+            LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+            if(newState == RecyclerView.SCROLL_STATE_SETTLING) {
+                // the fling or navigation target is known as soon as the settling starts
+
+                int targetPosition = mTargetPosition;
+                if(targetPosition == RecyclerView.NO_POSITION) {
+                    targetPosition = findSnapPosition(layoutManager);
+                }
+                selectPosition(recyclerView, targetPosition);
+            } else if(newState == RecyclerView.SCROLL_STATE_DRAGGING) {
+                mTargetPosition = RecyclerView.NO_POSITION;
+            }
+
+            for(int i = mOnPageChangeListeners.size() - 1; i >= 0; i--) {
+                mOnPageChangeListeners.get(i).onPageScrollStateChanged(newState);
+            }
+
+            if(newState == RecyclerView.SCROLL_STATE_IDLE) {
+                if(mMetricsRecorder != null) {
+                    mMetricsRecorder.recordScrollIdle();
+                }
+
+                mTargetPosition = RecyclerView.NO_POSITION;
+                settlePosition(recyclerView, findSnapPosition(layoutManager), true);
+            }
+        }
+
+        @Override
+        public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+            super.onScrolled(recyclerView, dx, dy);
+
+            mPageLifecycleDispatcher.updateVisibility();
+            if(mImpressionTracker != null) {
+                mImpressionTracker.update();
+            }
+
+            LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+            Adapter<?> adapter = (Adapter<?>) recyclerView.getAdapter();
+            int currentPosition = layoutManager.findFirstVisibleItemPosition();
+
+            if(adapter == null || currentPosition == RecyclerView.NO_POSITION) {
+                return;
+            }
+
+            // only invalidates the indicator when the scroll offset changed
+
+            int currentIndex = adapter.getItemIndex(currentPosition);
+            float pageOffset = getPageOffset(layoutManager, currentPosition);
+            if(mIndicatorView != null) {
+                mIndicatorView.setIndicatorProgress(currentIndex, pageOffset);
+            }
+
+            dispatchPageProgress(currentIndex, pageOffset, adapter.getActualItemCount());
+
+            if(recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_IDLE) {
+                // scrolled without a gesture or animation, e.g. scrollToPosition or a layout change,
+                // the page next to a setCurrentItem target is not settled on
+
+                if(!mPendingSmoothScroll.isPending()) {
+                    settlePosition(recyclerView, currentPosition, false);
+                }
+                return;
+            }
+
+            if(recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_DRAGGING) {
+                wrapWhileDragging(layoutManager, adapter, currentPosition);
+            }
+
+            if(mMetricsRecorder != null) {
+                mMetricsRecorder.recordScrollFrame(System.nanoTime());
+            }
+        }
+
+        private void wrapWhileDragging(LinearLayoutManager layoutManager, Adapter<?> adapter, int position) {
+            // a drag reaching a dump item continues on the item showing the same page, the
+            // layout manager is moved directly since RecyclerView#scrollToPosition would end the drag
+
+            int wrapTarget = CarouselPositions.getWrapTarget(position, adapter.getItemCount(), adapter.getLoopMode());
+            View pageView = layoutManager.findViewByPosition(position);
+            if(wrapTarget == position || pageView == null) {
+                return;
+            }
+
+            int offset;
+            if(layoutManager.getOrientation() == LinearLayoutManager.HORIZONTAL) {
+                offset = layoutManager.getDecoratedLeft(pageView) - layoutManager.getPaddingLeft();
+            } else {
+                offset = layoutManager.getDecoratedTop(pageView) - layoutManager.getPaddingTop();
+            }
+            layoutManager.scrollToPositionWithOffset(wrapTarget, offset);
+            recordWrapJump();
+        }
+
+        private void selectPosition(RecyclerView recyclerView, int position) {
+            Adapter<?> adapter = (Adapter<?>) recyclerView.getAdapter();
+            if(adapter == null || position == RecyclerView.NO_POSITION || adapter.getActualItemCount() <= 0) {
+                return;
+            }
+
+            int index = adapter.getItemIndex(position);
+            adapter.setSelectedIndex(index);
+            mPageLifecycleDispatcher.select(adapter, index);
+            if(mPageChangeTracker.select(index)) {
+                for(int i = mOnPageChangeListeners.size() - 1; i >= 0; i--) {
+                    mOnPageChangeListeners.get(i).onPageSelected(index);
+                }
+
+                adapter.prefetchAround(index, mAutoPlayController != null ? mAutoPlayController.getPlayDirection() : FORWARD);
+            }
+        }
+
+        private void settlePosition(RecyclerView recyclerView, int position, boolean scrollFinished) {
+            Adapter<?> adapter = (Adapter<?>) recyclerView.getAdapter();
+            int itemCount = (adapter != null ? adapter.getItemCount() : 0);
+
+            if(itemCount <= 0 || position == RecyclerView.NO_POSITION) {
+                return;
+            }
+
+            // settled on a dump item, switch to the item showing the same page
+
+            int wrapTarget = CarouselPositions.getWrapTarget(position, itemCount, adapter.getLoopMode());
+            if(wrapTarget != position) {
+                position = wrapTarget;
+                recyclerView.scrollToPosition(position);
+                recordWrapJump();
+            }
+
+            selectPosition(recyclerView, position);
+
+            int index = adapter.getItemIndex(position);
+            if(mPageChangeTracker.settle(index, scrollFinished)) {
+                for(int i = mOnPageChangeListeners.size() - 1; i >= 0; i--) {
+                    mOnPageChangeListeners.get(i).onPageSettled(index);
+                }
+            }
+        }
+
+        private void recordWrapJump() {
+            if(mMetricsRecorder != null) {
+                mMetricsRecorder.recordWrapJump();
+            }
+        }
+
+        private int findSnapPosition(LinearLayoutManager layoutManager) {
+            View snapView = mSnapHelper.findSnapView(layoutManager);
+            return snapView != null ? layoutManager.getPosition(snapView) : RecyclerView.NO_POSITION;
+        }
+
+        private void dispatchPageProgress(int index, float pageOffset, int itemCount) {
+            if(itemCount <= 0) {
+                return;
+            }
+
+            float progress = index + pageOffset;
+            if(progress >= itemCount) {
+                progress -= itemCount;
+            } else if(progress < 0f) {
+                progress += itemCount;
+            }
+
+            // a layout pass without movement, or the wrap jump landing on the same page
+
+            if(progress == mPageProgress) {
+                return;
+            }
+
+            mPageProgress = progress;
+            for(int i = mOnPageProgressListeners.size() - 1; i >= 0; i--) {
+                mOnPageProgressListeners.get(i).onPageProgress(progress, itemCount);
+            }
+        }
+
+        private float getPageOffset(LinearLayoutManager layoutManager, int position) {
+            View pageView = layoutManager.findViewByPosition(position);
+            if(pageView == null) {
+                return 0f;
+            }
+
+            if(layoutManager.getOrientation() == LinearLayoutManager.HORIZONTAL) {
+                int width = pageView.getWidth();
+                return width > 0 ? -layoutManager.getDecoratedLeft(pageView) / (float) width : 0f;
+            } else {
+                int height = pageView.getHeight();
+                return height > 0 ? -layoutManager.getDecoratedTop(pageView) / (float) height : 0f;
+            }
+        }
+    }
+
+    // carousel data changes
+
+    private class ItemCountObserver extends RecyclerView.AdapterDataObserver {
+        @Override
+        public void onChanged() {
+            updateIndicatorCount();
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            updateIndicatorCount();
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            updateIndicatorCount();
+        }
+
+        private void updateIndicatorCount() {
+            // the indicator only lays out again when the number of visible dots changes
+
+            Adapter<?> adapter = (Adapter<?>) mCarouselRecyclerView.getAdapter();
+            if(adapter != null && mIndicatorView != null) {
+                mIndicatorView.buildIndicators(adapter.getActualItemCount());
+            }
+        }
+    }
+
+    // carousel snap logic
+
+    private class CarouselSnapHelper extends PagerSnapHelper {
+        @Override
+        public int findTargetSnapPosition(RecyclerView.LayoutManager layoutManager, int velocityX, int velocityY) {
+            // remember where a fling lands so the page can be selected before it settles
+
+            int targetPosition = super.findTargetSnapPosition(layoutManager, velocityX, velocityY);
+            mCarouselScrollListener.setTargetPosition(targetPosition);
+            return targetPosition;
+        }
+    }
+
+    // page lifecycle
+
+    private class PageLifecycleDispatcher implements PageVisibilityTracker.Callback {
+        private final PageVisibilityTracker mVisibilityTracker = new PageVisibilityTracker();
+        private Adapter<?> mAdapter;
+        private int mSelectedIndex = RecyclerView.NO_POSITION;
+
+        void select(Adapter<?> adapter, int index) {
+            if(adapter != mAdapter) {
+                reset();
+                mAdapter = adapter;
+            }
+
+            if(index == mSelectedIndex) {
+                return;
+            }
+
+            int previousIndex = mSelectedIndex;
+            mSelectedIndex = index;
+            if(previousIndex != RecyclerView.NO_POSITION) {
+                adapter.onPageDeselected(previousIndex);
+            }
+            adapter.onPageSelected(index);
+        }
+
+        void updateVisibility() {
+            Adapter<?> adapter = (Adapter<?>) mCarouselRecyclerView.getAdapter();
+            if(adapter != mAdapter) {
+                reset();
+                mAdapter = adapter;
+            }
+
+            if(adapter == null) {
+                return;
+            }
+
+            // a page is visible while any of its copies overlaps the carousel
+
+            LinearLayoutManager layoutManager = (LinearLayoutManager) mCarouselRecyclerView.getLayoutManager();
+            boolean horizontal = (layoutManager.getOrientation() == LinearLayoutManager.HORIZONTAL);
+            int visibleStart = (horizontal ? mCarouselRecyclerView.getPaddingLeft() : mCarouselRecyclerView.getPaddingTop());
+            int visibleEnd = (horizontal ? mCarouselRecyclerView.getWidth() - mCarouselRecyclerView.getPaddingRight()
+                    : mCarouselRecyclerView.getHeight() - mCarouselRecyclerView.getPaddingBottom());
+
+            mVisibilityTracker.beginUpdate();
+            if(isShown() && adapter.getActualItemCount() > 0) {
+                for(int i = 0; i < mCarouselRecyclerView.getChildCount(); i++) {
+                    View child = mCarouselRecyclerView.getChildAt(i);
+                    int position = mCarouselRecyclerView.getChildAdapterPosition(child);
+                    int start = (horizontal ? child.getLeft() : child.getTop());
+                    int end = (horizontal ? child.getRight() : child.getBottom());
+                    if(position != RecyclerView.NO_POSITION && end > visibleStart && start < visibleEnd) {
+                        mVisibilityTracker.markVisible(adapter.getItemIndex(position));
+                    }
+                }
+            }
+            mVisibilityTracker.endUpdate(this);
+        }
+
+        void hideAll() {
+            if(mAdapter != null) {
+                mVisibilityTracker.clear(this);
+            }
+        }
+
+        /**
+         * Hides and deselects every page of the current adapter, e.g. before it is replaced.
+         */
+        void reset() {
+            if(mAdapter == null) {
+                return;
+            }
+
+            mVisibilityTracker.clear(this);
+            if(mSelectedIndex != RecyclerView.NO_POSITION) {
+                int selectedIndex = mSelectedIndex;
+                mSelectedIndex = RecyclerView.NO_POSITION;
+                mAdapter.onPageDeselected(selectedIndex);
+            }
+            mAdapter = null;
+        }
+
+        @Override
+        public void onPageVisible(int index) {
+            mAdapter.onPageVisible(index);
+        }
+
+        @Override
+        public void onPageHidden(int index) {
+            mAdapter.onPageHidden(index);
+        }
+    }
+
+    // carousel viewport tracking
+
+    private class ViewportTracker implements ViewTreeObserver.OnScrollChangedListener,
+            ViewTreeObserver.OnGlobalLayoutListener {
+        private final Rect mVisibleRect = new Rect();
+        private final int[] mWindowLocation = new int[2];
+        private int mWindowX;
+        private int mWindowY;
+        private float mVisibleThreshold;
+        private float mVisibleFraction;
+        private boolean mAttached;
+        private long mLastScrollTime;
+
+        void attach() {
+            if(!mAttached) {
+                mAttached = true;
+                ViewTreeObserver observer = getViewTreeObserver();
+                observer.addOnScrollChangedListener(this);
+                observer.addOnGlobalLayoutListener(this);
+                updateWindowLocation();
+                update();
+            }
+        }
+
+        @SuppressWarnings("deprecation")
+        void detach() {
+            if(mAttached) {
+                mAttached = false;
+                ViewTreeObserver observer = getViewTreeObserver();
+                observer.removeOnScrollChangedListener(this);
+                observer.removeGlobalOnLayoutListener(this);
+            }
+        }
+
+        void setVisibleThreshold(float threshold) {
+            mVisibleThreshold = Math.max(0f, Math.min(threshold, 1f));
+            if(mAttached) {
+                update();
+            }
+        }
+
+        float getVisibleFraction() {
+            return mVisibleFraction;
+        }
+
+        /**
+         * Returns the {@link SystemClock#uptimeMillis()} of the last scroll which moved the
+         * carousel in the window, e.g. of a list containing it.
+         */
+        long getLastScrollTime() {
+            return mLastScrollTime;
+        }
+
+        @Override
+        public void onScrollChanged() {
+            // any scroll in the window is reported, e.g. other carousels or the own wrap jump,
+            // only one moving this carousel counts
+
+            if(updateWindowLocation()) {
+                mLastScrollTime = SystemClock.uptimeMillis();
+            }
+            update();
+        }
+
+        @Override
+        public void onGlobalLayout() {
+            // a relayout moving the carousel is not a scroll
+
+            updateWindowLocation();
+            update();
+        }
+
+        private boolean updateWindowLocation() {
+            getLocationInWindow(mWindowLocation);
+            boolean moved = (mWindowLocation[0] != mWindowX || mWindowLocation[1] != mWindowY);
+            mWindowX = mWindowLocation[0];
+            mWindowY = mWindowLocation[1];
+            return moved;
+        }
+
+        private void update() {
+            // a rect query and a comparison, auto play is only touched when the threshold is crossed
+
+            int area = getWidth() * getHeight();
+            if(area > 0 && getGlobalVisibleRect(mVisibleRect)) {
+                mVisibleFraction = mVisibleRect.width() * mVisibleRect.height() / (float) area;
+            } else {
+                mVisibleFraction = 0f;
+            }
+
+            if(mImpressionTracker != null) {
+                mImpressionTracker.update();
+            }
+
+            if(mAutoPlayController == null) {
+                return;
+            }
+
+            boolean visible = mVisibleFraction > 0f && mVisibleFraction >= mVisibleThreshold;
+            boolean paused = mAutoPlayController.isPausedBy(AutoPlayController.PAUSE_VIEWPORT);
+            if(visible && paused) {
+                mAutoPlayController.resume(AutoPlayController.PAUSE_VIEWPORT);
+            } else if(!visible && !paused) {
+                mAutoPlayController.pause(AutoPlayController.PAUSE_VIEWPORT);
+            }
+        }
+    }
+
+    // carousel memory trim
+
+    private class MemoryTrimCallbacks implements ComponentCallbacks2 {
+        @Override
+        public void onTrimMemory(int level) {
+            trimMemory(level);
+        }
+
+        @Override
+        public void onLowMemory() {
+            trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+        }
+
+        @Override
+        public void onConfigurationChanged(Configuration newConfig) {
+        }
+    }
+
+    // carousel touch logic
+
+    private class CarouselTouchListener implements RecyclerView.OnTouchListener {
+
+        @Override
+        public boolean onTouch(View v, MotionEvent event) {
+            if(event.getAction() == MotionEvent.ACTION_DOWN) {
+                restoreAfterTrim();
+                finishCrossfade();
+                mPendingSmoothScroll.cancel();
+            }
+
+            if(mAutoPlayController == null) {
+                return false;
+            }
+
+            switch (event.getAction()) {
+                case MotionEvent.ACTION_DOWN : {
+                    mAutoPlayController.pause(AutoPlayController.PAUSE_TOUCH);
+                    break;
+                }
+                case MotionEvent.ACTION_UP :
+                case MotionEvent.ACTION_CANCEL : {
+                    mAutoPlayController.resume(AutoPlayController.PAUSE_TOUCH);
+                    break;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    // carousel auto play
+
+    abstract class AutoPlayController implements TickScheduler.Client {
+        static final int PAUSE_WINDOW = 1;
+        static final int PAUSE_DETACHED = 1 << 1;
+        static final int PAUSE_TOUCH = 1 << 2;
+        static final int PAUSE_VIEWPORT = 1 << 3;
+        static final int PAUSE_MEMORY = 1 << 4;
+
+        private final AutoPlayTicker mTicker;
+        private final AutoPlayClock mClock;
+        private boolean mEnabled;
+        private boolean mRunning;
+        private int mPauseReasons;
+        private int mPlayDirection;
+        private DeferralPolicy mDeferralPolicy;
+        private int mDeferrals;
+
+        AutoPlayController(int interval) {
+            mTicker = AutoPlayTicker.getInstance();
+            mClock = new AutoPlayClock(interval);
+            mPauseReasons = PAUSE_DETACHED;
+            mDeferralPolicy = DeferralPolicy.DEFAULT;
+        }
+
+        abstract void onPlayForward();
+        abstract void onPlayBackward();
+
+        void start() {
+            mEnabled = true;
+            updateRunning();
+        }
+
+        boolean isEnabled() {
+            return mEnabled;
+        }
+
+        void stop() {
+            mEnabled = false;
+            updateRunning();
+            mClock.reset();
+        }
+
+        /**
+         * Plays only while no pause reason is set, so e.g. the end of a touch does not
+         * restart a carousel that is scrolled off screen.
+         */
+        void pause(int reason) {
+            mPauseReasons |= reason;
+            updateRunning();
+        }
+
+        void resume(int reason) {
+            mPauseReasons &= ~reason;
+            updateRunning();
+        }
+
+        boolean isPausedBy(int reason) {
+            return (mPauseReasons & reason) != 0;
+        }
+
+        private void updateRunning() {
+            boolean running = mEnabled && mPauseReasons == 0;
+            if(running && !mRunning) {
+                startTicking();
+            } else if(!running && mRunning) {
+                stopTicking();
+            }
+        }
+
+        private void startTicking() {
+            // continue with the time left when paused, grouped players rejoin the group clock
+
+            mClock.resume(SystemClock.uptimeMillis());
+            mDeferrals = 0;
+            mRunning = true;
+            mTicker.register(this);
+        }
+
+        private void stopTicking() {
+            mRunning = false;
+            mClock.pause(SystemClock.uptimeMillis());
+            mTicker.unregister(this);
+        }
+
+        void setPlayDirection(int direction) {
+            mPlayDirection = direction;
+        }
+
+        int getPlayDirection() {
+            return mPlayDirection;
+        }
+
+        void setDeferralPolicy(DeferralPolicy policy) {
+            mDeferralPolicy = policy;
+        }
+
+        void setInterval(long interval) {
+            mClock.setInterval(interval);
+            if(mRunning) {
+                stopTicking();
+                startTicking();
+            }
+        }
+
+        void setGroup(String group) {
+            if(group != null) {
+                mClock.setGroupOrigin(mTicker.getGroupOrigin(group));
+            } else {
+                mClock.clearGroup();
+            }
+
+            if(mRunning) {
+                stopTicking();
+                startTicking();
+            }
+        }
+
+        @Override
+        public long getTickDeadline() {
+            return mClock.getDeadline();
+        }
+
+        @Override
+        public void onTick(long now) {
+            if(!mRunning) {
+                return;
+            }
+
+            // postpone while the UI thread misses frames or the screen is being scrolled
+
+            long deferral = mDeferralPolicy.getDeferral(mTicker.getFrameHistory(),
+                    now - mViewportTracker.getLastScrollTime(), mDeferrals);
+            if(deferral > 0) {
+                mDeferrals++;
+                mClock.postpone(now + deferral);
+                if(mMetricsRecorder != null) {
+                    mMetricsRecorder.recordAutoPlayTick(false);
+                }
+                return;
+            }
+
+            mDeferrals = 0;
+            mClock.advance(now);
+
+            if(mPlayDirection == FORWARD) {
+                onPlayForward();
+            } else if(mPlayDirection == BACKWARD) {
+                onPlayBackward();
+            }
+        }
+    }
+
+    // carousel adapter
+
+    public static abstract class Adapter<VH extends RecyclerView.ViewHolder> extends RecyclerView.Adapter<VH> {
+        private static final Object VIEW_HOLDER_BOUND = new Object();
+        private static final Object VIEW_HOLDER_POOLED = new Object();
+
+        private int mLoopMode = LOOP_EDGE_ITEMS;
+        private MetricsRecorder mMetricsRecorder;
+        private int mPrefetchDistance;
+        private Executor mPrefetchExecutor;
+        private SparseBooleanArray mPrefetchWindow = new SparseBooleanArray();
+        private SparseBooleanArray mNextPrefetchWindow = new SparseBooleanArray();
+        private volatile int mPrefetchCenter = RecyclerView.NO_POSITION;
+        private volatile int mPrefetchItemCount;
+        private volatile int mSelectedIndex = RecyclerView.NO_POSITION;
+        private final DataChangeObserver mDataChangeObserver = new DataChangeObserver();
+        private int mAttachedCount;
+
+        /**
+         * {@link #LOOP_EDGE_ITEMS} adds a copy of the last and first page at both ends and
+         * jumps over them while scrolling. {@link #LOOP_VIRTUAL} exposes a huge position
+         * space mapped back to the pages by modulo, so scrolling never needs a corrective
+         * jump. {@link #LOOP_NONE} stops at the first and the last page, auto play included.
+         * Set the mode before handing the adapter to {@link #setCarouselAdapter(Adapter)}.
+         */
+        public void setLoopMode(int loopMode) {
+            if(loopMode != mLoopMode) {
+                mLoopMode = loopMode;
+                notifyDataSetChanged();
+            }
+        }
+
+        public int getLoopMode() {
+            return mLoopMode;
+        }
+
+        /**
+         * Subclasses overriding this must call through, changes are only observed while the
+         * adapter is attached.
+         */
+        @Override
+        public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+            super.onAttachedToRecyclerView(recyclerView);
+
+            // observing from the constructor would make setHasStableIds() throw, and changes
+            // made while detached were not seen, so start over
+
+            if(mAttachedCount++ == 0) {
+                onDataChanged();
+                registerAdapterDataObserver(mDataChangeObserver);
+            }
+        }
+
+        @Override
+        public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+            super.onDetachedFromRecyclerView(recyclerView);
+            if(--mAttachedCount == 0) {
+                unregisterAdapterDataObserver(mDataChangeObserver);
+            }
+        }
+
+        int getAttachedCount() {
+            return mAttachedCount;
+        }
+
+        @Override
+        public void onBindViewHolder(VH holder, int position) {
+            TraceCompat.beginSection(TRACE_BIND);
+            try {
+                MetricsRecorder metricsRecorder = mMetricsRecorder;
+                if(metricsRecorder == null) {
+                    onBindCarouselViewHolder(holder, getItemIndex(position));
+                    return;
+                }
+
+                recordViewHolderState(holder, metricsRecorder);
+                long bindStart = System.nanoTime();
+                onBindCarouselViewHolder(holder, getItemIndex(position));
+                metricsRecorder.recordBind(System.nanoTime() - bindStart);
+            } finally {
+                TraceCompat.endSection();
+            }
+        }
+
+        @Override
+        public void onViewRecycled(VH holder) {
+            super.onViewRecycled(holder);
+
+            if(mMetricsRecorder != null) {
+                holder.itemView.setTag(R.id.carousel_view_holder_state, VIEW_HOLDER_POOLED);
+            }
+        }
+
+        private void recordViewHolderState(VH holder, MetricsRecorder metricsRecorder) {
+            // untagged holders were just created, pooled ones come from the recycled view pool
+
+            Object state = holder.itemView.getTag(R.id.carousel_view_holder_state);
+            if(state == null) {
+                metricsRecorder.recordViewHolderCreated();
+            } else if(state == VIEW_HOLDER_POOLED) {
+                metricsRecorder.recordPoolHit();
+            }
+
+            if(state != VIEW_HOLDER_BOUND) {
+                holder.itemView.setTag(R.id.carousel_view_holder_state, VIEW_HOLDER_BOUND);
+            }
+        }
+
+        /**
+         * Creates a view holder ahead of time for the recycled view pool, tagged as pooled so
+         * the bind taking it from the pool counts as a pool hit.
+         */
+        VH createPreInflatedViewHolder(ViewGroup parent, int viewType) {
+            VH holder = createViewHolder(parent, viewType);
+            holder.itemView.setTag(R.id.carousel_view_holder_state, VIEW_HOLDER_POOLED);
+            return holder;
+        }
+
+        void recordPreInflatedViewHolder() {
+            if(mMetricsRecorder != null) {
+                mMetricsRecorder.recordViewHolderPreInflated();
+            }
+        }
+
+        /**
+         * Return true when {@link #onCreateViewHolder(ViewGroup, int)} may run on a background
+         * thread for {@code viewType}, its page views are then pre-inflated off the main
+         * thread and can be ready for the first layout, see
+         * {@link CarouselView#setPreInflateCount(int)}. The parent passed in is not the
+         * carousel. Layouts creating handlers, web views or other main thread only objects,
+         * and inflater factories which are not thread safe, must keep the default false.
+         */
+        public boolean canPreInflateOffMainThread(int viewType) {
+            return false;
+        }
+
+        void setSelectedIndex(int index) {
+            mSelectedIndex = index;
+        }
+
+        /**
+         * Returns the index of the page last selected in the carousel, or
+         * {@link RecyclerView#NO_POSITION}.
+         */
+        int getSelectedIndex() {
+            return mSelectedIndex;
+        }
+
+        void setMetricsRecorder(MetricsRecorder metricsRecorder) {
+            mMetricsRecorder = metricsRecorder;
+        }
+
+        @Override
+        public int getItemViewType(int position) {
+            // the dummy edge items show the first and last pages, they need the same view type
+
+            return getCarouselItemViewType(getItemIndex(position));
+        }
+
+        /**
+         * Maps an adapter position to the index of the page it shows.
+         */
+        public final int getItemIndex(int position) {
+            return CarouselPositions.getItemIndex(position, getActualItemCount(), mLoopMode);
+        }
+
+        /**
+         * Adapter position of the first page when the carousel is shown.
+         */
+        public int getStartPosition() {
+            return CarouselPositions.getStartPosition(getActualItemCount(), mLoopMode);
+        }
+
+        @Override
+        public int getItemCount() {
+            return CarouselPositions.getItemCount(getActualItemCount(), mLoopMode);
+        }
+
+        /**
+         * View type of the page at {@code index}, override instead of {@link #getItemViewType(int)}.
+         * View types must be unique across adapters sharing a {@link CarouselViewPool}.
+         */
+        public int getCarouselItemViewType(int index) {
+            return 0;
+        }
+
+        /**
+         * Number of pages on each side of the selected one handed to
+         * {@link #onPrefetchCarouselItem(int)} whenever the selection changes, 0 disables
+         * prefetching.
+         */
+        public void setPrefetchDistance(int distance) {
+            mPrefetchDistance = Math.max(distance, 0);
+        }
+
+        public int getPrefetchDistance() {
+            return mPrefetchDistance;
+        }
+
+        public void setPrefetchExecutor(Executor executor) {
+            mPrefetchExecutor = executor;
+        }
+
+        /**
+         * Called on a background thread for the pages next to the selected one, warm caches
+         * such as a {@link CarouselMemoryCache} or a {@link CarouselDiskCache} here so the
+         * following bind finds its content ready. Requests for pages the carousel has moved
+         * away from in the meantime are dropped before they run.
+         */
+        @WorkerThread
+        public void onPrefetchCarouselItem(int index) {
+        }
+
+        /**
+         * Called once when the page at {@code index} becomes the selected one, start
+         * expensive content such as video or animations here. The dummy edge items and the
+         * jump over them do not select a page again.
+         */
+        public void onPageSelected(int index) {
+        }
+
+        /**
+         * Called once when the page at {@code index} stops being the selected one, or before
+         * the adapter is replaced.
+         */
+        public void onPageDeselected(int index) {
+        }
+
+        /**
+         * Called once when any part of the page at {@code index} scrolls into the carousel,
+         * or when the carousel is shown again.
+         */
+        public void onPageVisible(int index) {
+        }
+
+        /**
+         * Called once when no copy of the page at {@code index} is inside the carousel
+         * anymore, or when the carousel is hidden or detached.
+         */
+        public void onPageHidden(int index) {
+        }
+
+        /**
+         * Called when the carousel trims memory, release caches the adapter holds and
+         * return the number of released entries. Whatever is released must be rebuilt on
+         * the next bind.
+         */
+        public int onTrimMemory(int level) {
+            return 0;
+        }
+
+        void prefetchAround(int index, int direction) {
+            int actualItemCount = getActualItemCount();
+            if(mPrefetchDistance <= 0 || actualItemCount <= 1) {
+                return;
+            }
+
+            mPrefetchCenter = index;
+            mPrefetchItemCount = actualItemCount;
+
+            // pages in the play direction first, then the ones behind
+
+            int step = (direction == BACKWARD ? -1 : 1);
+            mNextPrefetchWindow.clear();
+            for(int distance = 1; distance <= mPrefetchDistance; distance++) {
+                requestPrefetch(index + step * distance, actualItemCount);
+            }
+            for(int distance = 1; distance <= mPrefetchDistance; distance++) {
+                requestPrefetch(index - step * distance, actualItemCount);
+            }
+
+            SparseBooleanArray window = mPrefetchWindow;
+            mPrefetchWindow = mNextPrefetchWindow;
+            mNextPrefetchWindow = window;
+        }
+
+        private void requestPrefetch(int index, int actualItemCount) {
+            final int itemIndex = CarouselPositions.wrapIndex(index, actualItemCount);
+            if(itemIndex == mPrefetchCenter || mNextPrefetchWindow.get(itemIndex)) {
+                return;
+            }
+
+            mNextPrefetchWindow.put(itemIndex, true);
+            if(mPrefetchWindow.get(itemIndex)) {
+                // already requested for the previous selection
+
+                return;
+            }
+
+            Executor executor = (mPrefetchExecutor != null ? mPrefetchExecutor : CarouselExecutors.getBackgroundExecutor());
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if(isInPrefetchWindow(itemIndex)) {
+                        onPrefetchCarouselItem(itemIndex);
+                    }
+                }
+            });
+        }
+
+        private boolean isInPrefetchWindow(int index) {
+            int center = mPrefetchCenter;
+            int itemCount = mPrefetchItemCount;
+            if(center == RecyclerView.NO_POSITION || itemCount <= 0) {
+                return false;
+            }
+
+            return CarouselPositions.getLoopDistance(index, center, itemCount) <= mPrefetchDistance;
+        }
+
+        private void onDataChanged() {
+            // indices may point to other content now, prefetch again on the next selection
+
+            mPrefetchWindow.clear();
+            mPrefetchCenter = RecyclerView.NO_POSITION;
+        }
+
+        private class DataChangeObserver extends RecyclerView.AdapterDataObserver {
+            @Override
+            public void onChanged() {
+                onDataChanged();
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                onDataChanged();
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+                onDataChanged();
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                onDataChanged();
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                onDataChanged();
+            }
+
+            @Override
+            public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+                onDataChanged();
+            }
+        }
+
+        public abstract void onBindCarouselViewHolder(VH holder, int index);
+        public abstract int getActualItemCount();
+    }
 }
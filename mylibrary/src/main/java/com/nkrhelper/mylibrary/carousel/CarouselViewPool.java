@@ -0,0 +1,70 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseIntArray;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Recycled view pool meant to be shared by several {@link CarouselView}s, e.g. all the
+ * carousels of a vertical feed. Page views recycled by one carousel are reused by the
+ * next one instead of being inflated again. Adapters sharing a pool must use the same
+ * view type only for interchangeable page views.
+ */
+
+public class CarouselViewPool extends RecyclerView.RecycledViewPool {
+    private static final int DEFAULT_MAX_RECYCLED_VIEWS = 5;
+
+    private final SparseIntArray mMaxRecycledViews;
+    private int mDefaultMaxRecycledViews;
+
+    public CarouselViewPool() {
+        this(DEFAULT_MAX_RECYCLED_VIEWS);
+    }
+
+    /**
+     * @param defaultMaxRecycledViews capacity of every view type without an explicit limit
+     */
+    public CarouselViewPool(int defaultMaxRecycledViews) {
+        mMaxRecycledViews = new SparseIntArray();
+        mDefaultMaxRecycledViews = defaultMaxRecycledViews;
+    }
+
+    @Override
+    public void setMaxRecycledViews(int viewType, int max) {
+        mMaxRecycledViews.put(viewType, max);
+        super.setMaxRecycledViews(viewType, max);
+    }
+
+    public int getMaxRecycledViews(int viewType) {
+        return mMaxRecycledViews.get(viewType, mDefaultMaxRecycledViews);
+    }
+
+    /**
+     * Returns the number of views held for all view types seen so far.
+     */
+    public int getRecycledViewCount() {
+        int count = 0;
+        for(int i = 0; i < mMaxRecycledViews.size(); i++) {
+            count += getRecycledViewCount(mMaxRecycledViews.keyAt(i));
+        }
+
+        return count;
+    }
+
+    public void setDefaultMaxRecycledViews(int max) {
+        mDefaultMaxRecycledViews = max;
+    }
+
+    @Override
+    public void putRecycledView(RecyclerView.ViewHolder scrap) {
+        // apply the default capacity the first time a view type shows up
+
+        int viewType = scrap.getItemViewType();
+        if(mMaxRecycledViews.indexOfKey(viewType) < 0) {
+            setMaxRecycledViews(viewType, mDefaultMaxRecycledViews);
+        }
+
+        super.putRecycledView(scrap);
+    }
+}
@@ -0,0 +1,158 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.animation.Interpolator;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Changes the page of a carousel by crossfading the current page with an already laid out
+ * target page. The target is translated over the current page and both only animate their
+ * alpha, the recycler view neither scrolls nor lays out until the fade is over. At the end
+ * the views are restored and the recycler view is scrolled by the page distance in the
+ * same frame, so the target ends up in place without a visible jump.
+ */
+
+class CrossfadeAnimator extends AnimatorListenerAdapter implements ValueAnimator.AnimatorUpdateListener {
+    interface Listener {
+        void onCrossfadeProgress(int fromPosition, int toPosition, float fraction);
+    }
+
+    private final RecyclerView mRecyclerView;
+    private final Listener mListener;
+    private final ValueAnimator mAnimator;
+    private View mFromView;
+    private View mToView;
+    private int mFromPosition;
+    private int mToPosition;
+    private int mDistance;
+    private boolean mHorizontal;
+    private boolean mFromLayer;
+    private boolean mToLayer;
+    private boolean mCanceled;
+
+    CrossfadeAnimator(RecyclerView recyclerView, Listener listener) {
+        mRecyclerView = recyclerView;
+        mListener = listener;
+        mAnimator = ValueAnimator.ofFloat(0f, 1f);
+        mAnimator.addUpdateListener(this);
+        mAnimator.addListener(this);
+    }
+
+    /**
+     * Starts the crossfade, returns false when either page is not laid out or a crossfade
+     * is already running.
+     */
+    boolean start(int fromPosition, int toPosition, long duration, Interpolator interpolator) {
+        LinearLayoutManager layoutManager = (LinearLayoutManager) mRecyclerView.getLayoutManager();
+        if(mAnimator.isStarted() || fromPosition == toPosition) {
+            return false;
+        }
+
+        View fromView = layoutManager.findViewByPosition(fromPosition);
+        View toView = layoutManager.findViewByPosition(toPosition);
+        if(fromView == null || toView == null) {
+            return false;
+        }
+
+        mFromView = fromView;
+        mToView = toView;
+        mFromPosition = fromPosition;
+        mToPosition = toPosition;
+        mHorizontal = (layoutManager.getOrientation() == LinearLayoutManager.HORIZONTAL);
+        mDistance = (mHorizontal ? toView.getLeft() - fromView.getLeft() : toView.getTop() - fromView.getTop());
+        mCanceled = false;
+
+        // fading a page draws it to an offscreen buffer anyway, keep it in a layer
+
+        mFromLayer = (fromView.getLayerType() == View.LAYER_TYPE_NONE);
+        mToLayer = (toView.getLayerType() == View.LAYER_TYPE_NONE);
+        if(mFromLayer) {
+            fromView.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+        }
+        if(mToLayer) {
+            toView.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+        }
+
+        if(mHorizontal) {
+            toView.setTranslationX(-mDistance);
+        } else {
+            toView.setTranslationY(-mDistance);
+        }
+        toView.setAlpha(0f);
+
+        mAnimator.setDuration(duration);
+        mAnimator.setInterpolator(interpolator);
+        mAnimator.start();
+        return true;
+    }
+
+    boolean isRunning() {
+        return mAnimator.isStarted();
+    }
+
+    /**
+     * Jumps to the end of a running crossfade, the target page is moved in place.
+     */
+    void finish() {
+        if(mAnimator.isStarted()) {
+            mAnimator.end();
+        }
+    }
+
+    /**
+     * Stops a running crossfade and restores both pages where they were.
+     */
+    void cancel() {
+        if(mAnimator.isStarted()) {
+            mCanceled = true;
+            mAnimator.cancel();
+        }
+    }
+
+    @Override
+    public void onAnimationUpdate(ValueAnimator animation) {
+        float fraction = animation.getAnimatedFraction();
+        mFromView.setAlpha(1f - fraction);
+        mToView.setAlpha(fraction);
+        mListener.onCrossfadeProgress(mFromPosition, mToPosition, fraction);
+    }
+
+    @Override
+    public void onAnimationCancel(Animator animation) {
+        mCanceled = true;
+    }
+
+    @Override
+    public void onAnimationEnd(Animator animation) {
+        View fromView = mFromView;
+        View toView = mToView;
+        mFromView = null;
+        mToView = null;
+        if(fromView == null || toView == null) {
+            return;
+        }
+
+        fromView.setAlpha(1f);
+        toView.setAlpha(1f);
+        toView.setTranslationX(0f);
+        toView.setTranslationY(0f);
+        if(mFromLayer) {
+            fromView.setLayerType(View.LAYER_TYPE_NONE, null);
+        }
+        if(mToLayer) {
+            toView.setLayerType(View.LAYER_TYPE_NONE, null);
+        }
+
+        // one scroll by the page distance puts the target where it was drawn
+
+        if(!mCanceled) {
+            mRecyclerView.scrollBy(mHorizontal ? mDistance : 0, mHorizontal ? 0 : mDistance);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.graphics.Point;
+import android.graphics.Rect;
+import android.os.SystemClock;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import com.nkrhelper.carouselcore.ImpressionBatch;
+import com.nkrhelper.carouselcore.ImpressionBuffer;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Records how long and how much of every page was visible. Pages are keyed by their real
+ * index, so a dummy edge item and the page it mirrors are one impression and the wrap
+ * jump does not end it. Pages are clipped by the part of the carousel on screen, so a list
+ * scrolling it away ends them as well. Ended impressions go to a preallocated {@link ImpressionBuffer}
+ * which is drained on a background thread every flush interval, or early once it is half
+ * full. Updating on a scroll frame does not allocate.
+ */
+
+class ImpressionTracker {
+    static final long DEFAULT_FLUSH_INTERVAL = 5000;
+    static final float DEFAULT_VISIBLE_THRESHOLD = 0.5f;
+
+    private static final int MAX_ACTIVE_PAGES = 8;
+    private static final int BUFFER_CAPACITY = 256;
+
+    private final RecyclerView mRecyclerView;
+    private final ImpressionBuffer mBuffer;
+    private final ImpressionBatch mBatch;
+    private volatile CarouselView.ImpressionConsumer mConsumer;
+    private long mFlushInterval;
+    private float mVisibleThreshold;
+    private final Rect mVisibleRect = new Rect();
+    private final Point mGlobalOffset = new Point();
+
+    // pages visible right now
+
+    private final int[] mActiveIndices = new int[MAX_ACTIVE_PAGES];
+    private final long[] mActiveStartTimes = new long[MAX_ACTIVE_PAGES];
+    private final long[] mActiveStartUptimes = new long[MAX_ACTIVE_PAGES];
+    private final float[] mActiveFractions = new float[MAX_ACTIVE_PAGES];
+    private final boolean[] mActiveSeen = new boolean[MAX_ACTIVE_PAGES];
+    private int mActiveCount;
+
+    private final Runnable mFlushRunnable = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    private final Runnable mScheduledFlushRunnable = new Runnable() {
+        @Override
+        public void run() {
+            CarouselExecutors.getBackgroundExecutor().execute(mFlushRunnable);
+        }
+    };
+
+    ImpressionTracker(RecyclerView recyclerView) {
+        mRecyclerView = recyclerView;
+        mBuffer = new ImpressionBuffer(BUFFER_CAPACITY);
+        mBatch = new ImpressionBatch(BUFFER_CAPACITY);
+        mFlushInterval = DEFAULT_FLUSH_INTERVAL;
+        mVisibleThreshold = DEFAULT_VISIBLE_THRESHOLD;
+    }
+
+    void setConsumer(CarouselView.ImpressionConsumer consumer) {
+        mConsumer = consumer;
+    }
+
+    void setFlushInterval(long flushInterval) {
+        mFlushInterval = flushInterval;
+    }
+
+    /**
+     * Pages less visible than {@code threshold} (0..1) do not count as seen.
+     */
+    void setVisibleThreshold(float threshold) {
+        mVisibleThreshold = Math.max(0f, Math.min(threshold, 1f));
+    }
+
+    /**
+     * Starts, extends and ends impressions for the pages laid out right now.
+     */
+    void update() {
+        CarouselView.Adapter<?> adapter = (CarouselView.Adapter<?>) mRecyclerView.getAdapter();
+        LinearLayoutManager layoutManager = (LinearLayoutManager) mRecyclerView.getLayoutManager();
+        if(adapter == null || adapter.getActualItemCount() <= 0) {
+            endAll();
+            return;
+        }
+
+        for(int i = 0; i < mActiveCount; i++) {
+            mActiveSeen[i] = false;
+        }
+
+        // the on screen part of the carousel in its own coordinates, nothing when scrolled away
+
+        long now = SystemClock.uptimeMillis();
+        boolean horizontal = (layoutManager.getOrientation() == LinearLayoutManager.HORIZONTAL);
+        int childCount = 0;
+        if(mRecyclerView.getGlobalVisibleRect(mVisibleRect, mGlobalOffset)) {
+            mVisibleRect.offset(-mGlobalOffset.x, -mGlobalOffset.y);
+            childCount = mRecyclerView.getChildCount();
+        }
+
+        for(int i = 0; i < childCount; i++) {
+            View child = mRecyclerView.getChildAt(i);
+            int position = mRecyclerView.getChildAdapterPosition(child);
+            float fraction = getVisibleFraction(child, horizontal);
+            if(position != RecyclerView.NO_POSITION && fraction > 0f && fraction >= mVisibleThreshold) {
+                onPageVisible(adapter.getItemIndex(position), fraction, now);
+            }
+        }
+
+        for(int i = mActiveCount - 1; i >= 0; i--) {
+            if(!mActiveSeen[i]) {
+                endImpression(i, now);
+            }
+        }
+    }
+
+    /**
+     * Ends every running impression, e.g. when the carousel is hidden or detached.
+     */
+    void endAll() {
+        long now = SystemClock.uptimeMillis();
+        for(int i = mActiveCount - 1; i >= 0; i--) {
+            endImpression(i, now);
+        }
+    }
+
+    /**
+     * Hands the buffered impressions to the consumer on a background thread now.
+     */
+    void requestFlush() {
+        CarouselExecutors.getMainHandler().removeCallbacks(mScheduledFlushRunnable);
+        CarouselExecutors.getBackgroundExecutor().execute(mFlushRunnable);
+    }
+
+    private float getVisibleFraction(View child, boolean horizontal) {
+        int start;
+        int end;
+        int visibleStart;
+        int visibleEnd;
+        if(horizontal) {
+            start = child.getLeft();
+            end = child.getRight();
+            visibleStart = Math.max(mRecyclerView.getPaddingLeft(), mVisibleRect.left);
+            visibleEnd = Math.min(mRecyclerView.getWidth() - mRecyclerView.getPaddingRight(), mVisibleRect.right);
+        } else {
+            start = child.getTop();
+            end = child.getBottom();
+            visibleStart = Math.max(mRecyclerView.getPaddingTop(), mVisibleRect.top);
+            visibleEnd = Math.min(mRecyclerView.getHeight() - mRecyclerView.getPaddingBottom(), mVisibleRect.bottom);
+        }
+
+        int size = end - start;
+        if(size <= 0) {
+            return 0f;
+        }
+
+        // the cross axis is clipped by a list scrolling the carousel partly away
+
+        float crossFraction;
+        if(horizontal) {
+            crossFraction = mVisibleRect.height() / (float) Math.max(mRecyclerView.getHeight(), 1);
+        } else {
+            crossFraction = mVisibleRect.width() / (float) Math.max(mRecyclerView.getWidth(), 1);
+        }
+
+        int visible = Math.min(end, visibleEnd) - Math.max(start, visibleStart);
+        return visible > 0 ? Math.min(visible / (float) size, 1f) * Math.min(crossFraction, 1f) : 0f;
+    }
+
+    private void onPageVisible(int index, float fraction, long now) {
+        // a dummy edge item and its page share one slot, the larger fraction wins
+
+        for(int i = 0; i < mActiveCount; i++) {
+            if(mActiveIndices[i] == index) {
+                mActiveSeen[i] = true;
+                mActiveFractions[i] = Math.max(mActiveFractions[i], fraction);
+                return;
+            }
+        }
+
+        if(mActiveCount == MAX_ACTIVE_PAGES) {
+            return;
+        }
+
+        int slot = mActiveCount++;
+        mActiveIndices[slot] = index;
+        mActiveStartTimes[slot] = System.currentTimeMillis();
+        mActiveStartUptimes[slot] = now;
+        mActiveFractions[slot] = fraction;
+        mActiveSeen[slot] = true;
+    }
+
+    private void endImpression(int slot, long now) {
+        int size = mBuffer.add(mActiveIndices[slot], mActiveStartTimes[slot],
+                now - mActiveStartUptimes[slot], mActiveFractions[slot]);
+
+        // fill the gap with the last slot, the order of active pages does not matter
+
+        int last = --mActiveCount;
+        mActiveIndices[slot] = mActiveIndices[last];
+        mActiveStartTimes[slot] = mActiveStartTimes[last];
+        mActiveStartUptimes[slot] = mActiveStartUptimes[last];
+        mActiveFractions[slot] = mActiveFractions[last];
+        mActiveSeen[slot] = mActiveSeen[last];
+
+        if(size == 1) {
+            CarouselExecutors.getMainHandler().postDelayed(mScheduledFlushRunnable, mFlushInterval);
+        } else if(size == mBuffer.getCapacity() / 2) {
+            requestFlush();
+        }
+    }
+
+    private void flush() {
+        CarouselView.ImpressionConsumer consumer = mConsumer;
+
+        // one flush at a time, the batch is reused
+
+        synchronized (mBatch) {
+            mBuffer.drainTo(mBatch);
+            if(consumer != null && (mBatch.getSize() > 0 || mBatch.getDroppedCount() > 0)) {
+                consumer.onImpressions(mBatch);
+            }
+        }
+    }
+}
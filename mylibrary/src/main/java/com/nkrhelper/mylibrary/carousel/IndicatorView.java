@@ -0,0 +1,200 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.PorterDuff;
+import android.graphics.drawable.Drawable;
+import android.view.View;
+
+import com.nkrhelper.carouselcore.IndicatorWindow;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Single view indicator, every dot is drawn in {@link #onDraw(Canvas)} so the
+ * cost of an adapter swap does not depend on the number of pages.
+ */
+
+class IndicatorView extends View {
+    private final IndicatorWindow mWindow;
+    private Drawable mNormalState;
+    private Drawable mSelectedState;
+    private int mOrientation;
+    private int mIndicatorSize;
+    private int mIndicatorMarginLeft;
+    private int mIndicatorMarginTop;
+    private int mIndicatorMarginRight;
+    private int mIndicatorMarginBottom;
+
+    public IndicatorView(Context context) {
+        super(context);
+
+        mWindow = new IndicatorWindow();
+        mOrientation = CarouselView.HORIZONTAL;
+    }
+
+    public void setOrientation(int orientation) {
+        if(orientation != mOrientation) {
+            mOrientation = orientation;
+            requestLayout();
+        }
+    }
+
+    public void setIndicatorStateDrawables(Drawable normalState, Drawable selectedState) {
+        // the selected state alpha is changed while drawing, never share it with other views
+
+        mNormalState = normalState.mutate();
+        mSelectedState = selectedState.mutate();
+        invalidate();
+    }
+
+    /**
+     * Drops the state drawables until they are set again, nothing is drawn meanwhile.
+     * Returns the number of released drawables.
+     */
+    public int releaseDrawables() {
+        int released = (mNormalState != null ? 1 : 0) + (mSelectedState != null ? 1 : 0);
+        mNormalState = null;
+        mSelectedState = null;
+        return released;
+    }
+
+    public boolean hasDrawables() {
+        return mNormalState != null && mSelectedState != null;
+    }
+
+    public void setIndicatorStateColors(int normalColor, int selectedColor) {
+        mNormalState.setColorFilter(normalColor, PorterDuff.Mode.SRC_ATOP);
+        mSelectedState.setColorFilter(selectedColor, PorterDuff.Mode.SRC_ATOP);
+        invalidate();
+    }
+
+    public void setIndicatorSize(int size) {
+        mIndicatorSize = size;
+        requestLayout();
+    }
+
+    public void setIndicatorMargins(int left, int top, int right, int bottom) {
+        mIndicatorMarginLeft = left;
+        mIndicatorMarginTop = top;
+        mIndicatorMarginRight = right;
+        mIndicatorMarginBottom = bottom;
+        requestLayout();
+    }
+
+    /**
+     * Limits the number of dots drawn at once, the dots then scroll with the selected
+     * page. Zero or a negative value draws all of them.
+     */
+    public void setMaxVisibleCount(int maxVisibleCount) {
+        if(mWindow.setMaxVisibleCount(maxVisibleCount)) {
+            requestLayout();
+        }
+        invalidate();
+    }
+
+    public void setIndicatorPosition(int position) {
+        setIndicatorProgress(position, 0f);
+    }
+
+    /**
+     * Moves the selected dot between {@code position} and the next one, {@code offset}
+     * is the scrolled fraction of the current page. Only invalidates, the size of the
+     * view never depends on the position.
+     */
+    public void setIndicatorProgress(int position, float offset) {
+        if(mWindow.setProgress(position, offset)) {
+            invalidate();
+        }
+    }
+
+    public void buildIndicators(int count) {
+        // only a change of the visible dot count changes the measured size
+
+        if(mWindow.setCount(count)) {
+            requestLayout();
+        }
+        invalidate();
+    }
+
+    private int getCellWidth() {
+        return mIndicatorSize + mIndicatorMarginLeft + mIndicatorMarginRight;
+    }
+
+    private int getCellHeight() {
+        return mIndicatorSize + mIndicatorMarginTop + mIndicatorMarginBottom;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int visibleCount = mWindow.getVisibleCount();
+        int width;
+        int height;
+
+        if(mOrientation == CarouselView.HORIZONTAL) {
+            width = visibleCount * getCellWidth();
+            height = visibleCount > 0 ? getCellHeight() : 0;
+        } else {
+            width = visibleCount > 0 ? getCellWidth() : 0;
+            height = visibleCount * getCellHeight();
+        }
+
+        width += getPaddingLeft() + getPaddingRight();
+        height += getPaddingTop() + getPaddingBottom();
+
+        setMeasuredDimension(resolveSize(width, widthMeasureSpec), resolveSize(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+
+        int visibleCount = mWindow.getVisibleCount();
+        if(visibleCount == 0 || mNormalState == null || mSelectedState == null) {
+            return;
+        }
+
+        // the window follows the selected dot and stops at both ends
+
+        int position = mWindow.getPosition();
+        float windowStart = mWindow.getWindowStart();
+        int firstIndex = Math.max(0, (int) Math.floor(windowStart) - 1);
+        int lastIndex = Math.min(mWindow.getCount() - 1, (int) Math.ceil(windowStart) + visibleCount);
+        for(int i = firstIndex; i <= lastIndex; i++) {
+            drawIndicator(canvas, mNormalState, i - windowStart, windowStart, 255);
+        }
+
+        // selected dot, fades from the last dot to the first one when wrapping around
+
+        if(mWindow.isWrapping()) {
+            int fraction = (int) (mWindow.getOffset() * 255);
+            drawIndicator(canvas, mSelectedState, position - windowStart, windowStart, 255 - fraction);
+            drawIndicator(canvas, mSelectedState, -windowStart, windowStart, fraction);
+        } else {
+            drawIndicator(canvas, mSelectedState, position + mWindow.getOffset() - windowStart, windowStart, 255);
+        }
+    }
+
+    private void drawIndicator(Canvas canvas, Drawable drawable, float slot, float windowStart, int alpha) {
+        float scale = mWindow.getScale(slot, windowStart);
+        if(scale <= 0f || alpha <= 0) {
+            return;
+        }
+
+        int size = (int) (mIndicatorSize * Math.min(scale, 1f));
+        int inset = (mIndicatorSize - size) / 2;
+        int left = getPaddingLeft() + mIndicatorMarginLeft + inset;
+        int top = getPaddingTop() + mIndicatorMarginTop + inset;
+
+        if(mOrientation == CarouselView.HORIZONTAL) {
+            left += (int) (slot * getCellWidth());
+        } else {
+            top += (int) (slot * getCellHeight());
+        }
+
+        drawable.setBounds(left, top, left + size, top + size);
+        drawable.setAlpha(alpha);
+        drawable.draw(canvas);
+        drawable.setAlpha(255);
+    }
+}
@@ -0,0 +1,126 @@
+package com.nkrhelper.mylibrary.carousel;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Mutable counters behind {@link CarouselMetrics}, only allocated while metrics are enabled.
+ * Main thread only.
+ */
+
+class MetricsRecorder {
+    private long mBindCount;
+    private long mBindTimeNanos;
+    private long mMaxBindTimeNanos;
+    private long mCreatedViewHolderCount;
+    private long mPoolHitCount;
+    private long mPoolMissCount;
+    private long mWrapJumpCount;
+    private long mAutoPlayTicksFired;
+    private long mAutoPlayTicksSkipped;
+    private long mScrollFrameCount;
+    private long mScrollFrameTimeNanos;
+    private long mMaxScrollFrameTimeNanos;
+    private long mLastScrollFrameNanos;
+    private long mFirstLayoutTimeNanos;
+    private long mFirstLayoutPoolMissCount;
+    private long mAdapterSetNanos;
+    private long mAdapterSetPoolMissCount;
+    private boolean mWaitingForFirstLayout;
+
+    void recordBind(long durationNanos) {
+        mBindCount++;
+        mBindTimeNanos += durationNanos;
+        mMaxBindTimeNanos = Math.max(mMaxBindTimeNanos, durationNanos);
+    }
+
+    void recordViewHolderCreated() {
+        mCreatedViewHolderCount++;
+        mPoolMissCount++;
+    }
+
+    /**
+     * A view holder created ahead of time, it is not a pool miss.
+     */
+    void recordViewHolderPreInflated() {
+        mCreatedViewHolderCount++;
+    }
+
+    void recordPoolHit() {
+        mPoolHitCount++;
+    }
+
+    void recordWrapJump() {
+        mWrapJumpCount++;
+    }
+
+    void recordAutoPlayTick(boolean fired) {
+        if(fired) {
+            mAutoPlayTicksFired++;
+        } else {
+            mAutoPlayTicksSkipped++;
+        }
+    }
+
+    /**
+     * Called once per scroll frame, the time since the previous frame of the same scroll
+     * is recorded as the frame duration.
+     */
+    void recordScrollFrame(long frameTimeNanos) {
+        if(mLastScrollFrameNanos != 0) {
+            long duration = frameTimeNanos - mLastScrollFrameNanos;
+            mScrollFrameCount++;
+            mScrollFrameTimeNanos += duration;
+            mMaxScrollFrameTimeNanos = Math.max(mMaxScrollFrameTimeNanos, duration);
+        }
+        mLastScrollFrameNanos = frameTimeNanos;
+    }
+
+    void recordScrollIdle() {
+        mLastScrollFrameNanos = 0;
+    }
+
+    void recordAdapterSet(long timeNanos) {
+        mAdapterSetNanos = timeNanos;
+        mAdapterSetPoolMissCount = mPoolMissCount;
+        mWaitingForFirstLayout = true;
+    }
+
+    /**
+     * Called after every layout showing pages, the first one after the adapter was set
+     * records the time to the first frame and the views it had to inflate.
+     */
+    void recordLayout(long timeNanos) {
+        if(mWaitingForFirstLayout) {
+            mWaitingForFirstLayout = false;
+            mFirstLayoutTimeNanos = timeNanos - mAdapterSetNanos;
+            mFirstLayoutPoolMissCount = mPoolMissCount - mAdapterSetPoolMissCount;
+        }
+    }
+
+    void reset() {
+        mBindCount = 0;
+        mBindTimeNanos = 0;
+        mMaxBindTimeNanos = 0;
+        mCreatedViewHolderCount = 0;
+        mPoolHitCount = 0;
+        mPoolMissCount = 0;
+        mWrapJumpCount = 0;
+        mAutoPlayTicksFired = 0;
+        mAutoPlayTicksSkipped = 0;
+        mScrollFrameCount = 0;
+        mScrollFrameTimeNanos = 0;
+        mMaxScrollFrameTimeNanos = 0;
+        mLastScrollFrameNanos = 0;
+        mFirstLayoutTimeNanos = 0;
+        mFirstLayoutPoolMissCount = 0;
+        mAdapterSetPoolMissCount = 0;
+    }
+
+    CarouselMetrics snapshot() {
+        return new CarouselMetrics(mBindCount, mBindTimeNanos, mMaxBindTimeNanos,
+                mCreatedViewHolderCount, mPoolHitCount, mPoolMissCount,
+                mWrapJumpCount, mAutoPlayTicksFired, mAutoPlayTicksSkipped,
+                mScrollFrameCount, mScrollFrameTimeNanos, mMaxScrollFrameTimeNanos,
+                mFirstLayoutTimeNanos, mFirstLayoutPoolMissCount);
+    }
+}
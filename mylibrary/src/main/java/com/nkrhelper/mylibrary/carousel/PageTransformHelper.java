@@ -0,0 +1,113 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Applies a {@link CarouselView.PageTransformer} to the attached pages once per scroll frame
+ * and keeps the pages on hardware layers while a scroll is running, so transformed frames
+ * only redraw cached layers.
+ */
+
+class PageTransformHelper extends RecyclerView.OnScrollListener
+        implements RecyclerView.OnChildAttachStateChangeListener {
+    private final RecyclerView mRecyclerView;
+    private final TransformablePage mPage;
+    private CarouselView.PageTransformer mPageTransformer;
+    private boolean mLayersEnabled;
+
+    PageTransformHelper(RecyclerView recyclerView) {
+        mRecyclerView = recyclerView;
+        mPage = new TransformablePage();
+    }
+
+    void setPageTransformer(CarouselView.PageTransformer pageTransformer) {
+        if(pageTransformer == mPageTransformer) {
+            return;
+        }
+
+        if(mPageTransformer == null) {
+            mRecyclerView.addOnScrollListener(this);
+            mRecyclerView.addOnChildAttachStateChangeListener(this);
+        }
+
+        mPageTransformer = pageTransformer;
+
+        if(pageTransformer == null) {
+            mRecyclerView.removeOnScrollListener(this);
+            mRecyclerView.removeOnChildAttachStateChangeListener(this);
+            for(int i = mRecyclerView.getChildCount() - 1; i >= 0; i--) {
+                resetPage(mRecyclerView.getChildAt(i));
+            }
+            mLayersEnabled = false;
+        } else {
+            transformPages();
+        }
+    }
+
+    @Override
+    public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+        setLayersEnabled(newState != RecyclerView.SCROLL_STATE_IDLE);
+    }
+
+    @Override
+    public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+        transformPages();
+    }
+
+    @Override
+    public void onChildViewAttachedToWindow(View view) {
+        if(mLayersEnabled) {
+            view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+        }
+    }
+
+    @Override
+    public void onChildViewDetachedFromWindow(View view) {
+        // recycled pages may be reused by a carousel without a transformer
+
+        resetPage(view);
+    }
+
+    void transformPages() {
+        LinearLayoutManager layoutManager = (LinearLayoutManager) mRecyclerView.getLayoutManager();
+        boolean horizontal = (layoutManager.getOrientation() == LinearLayoutManager.HORIZONTAL);
+        int pageSize = (horizontal ? mRecyclerView.getWidth() : mRecyclerView.getHeight());
+        if(pageSize <= 0) {
+            return;
+        }
+
+        // position is 0 for the centered page, -1 and 1 for the pages one page away
+
+        for(int i = 0, count = layoutManager.getChildCount(); i < count; i++) {
+            View view = layoutManager.getChildAt(i);
+            int start = (horizontal ? layoutManager.getDecoratedLeft(view) : layoutManager.getDecoratedTop(view));
+            float position = start / (float) pageSize;
+            mPage.setView(view);
+            mPageTransformer.transformPage(mPage, position);
+        }
+        mPage.setView(null);
+    }
+
+    private void setLayersEnabled(boolean enabled) {
+        if(enabled == mLayersEnabled) {
+            return;
+        }
+
+        mLayersEnabled = enabled;
+        int layerType = (enabled ? View.LAYER_TYPE_HARDWARE : View.LAYER_TYPE_NONE);
+        for(int i = mRecyclerView.getChildCount() - 1; i >= 0; i--) {
+            mRecyclerView.getChildAt(i).setLayerType(layerType, null);
+        }
+    }
+
+    private void resetPage(View view) {
+        TransformablePage.reset(view);
+        if(view.getLayerType() != View.LAYER_TYPE_NONE) {
+            view.setLayerType(View.LAYER_TYPE_NONE, null);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.view.View;
+
+import com.nkrhelper.mylibrary.R;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Handle to a carousel page given to a {@link CarouselView.PageTransformer}. Only exposes
+ * render properties which are applied on the RenderThread without measuring or laying
+ * out the page again. A single instance is reused for every page, don't keep it.
+ */
+
+public final class TransformablePage {
+    // stock View cannot drop an explicit pivot before API 28, a page keeps it centred instead
+
+    private static final View.OnLayoutChangeListener CENTER_PIVOT = new View.OnLayoutChangeListener() {
+        @Override
+        public void onLayoutChange(View view, int left, int top, int right, int bottom,
+                                   int oldLeft, int oldTop, int oldRight, int oldBottom) {
+            if(right - left != oldRight - oldLeft || bottom - top != oldBottom - oldTop) {
+                view.setPivotX((right - left) / 2f);
+                view.setPivotY((bottom - top) / 2f);
+            }
+        }
+    };
+
+    private View mView;
+
+    TransformablePage() {
+    }
+
+    void setView(View view) {
+        mView = view;
+    }
+
+    public int getWidth() {
+        return mView.getWidth();
+    }
+
+    public int getHeight() {
+        return mView.getHeight();
+    }
+
+    public void setTranslationX(float translationX) {
+        mView.setTranslationX(translationX);
+    }
+
+    public void setTranslationY(float translationY) {
+        mView.setTranslationY(translationY);
+    }
+
+    public void setScaleX(float scaleX) {
+        mView.setScaleX(scaleX);
+    }
+
+    public void setScaleY(float scaleY) {
+        mView.setScaleY(scaleY);
+    }
+
+    public void setAlpha(float alpha) {
+        mView.setAlpha(alpha);
+    }
+
+    public void setRotation(float rotation) {
+        mView.setRotation(rotation);
+    }
+
+    public void setRotationX(float rotationX) {
+        mView.setRotationX(rotationX);
+    }
+
+    public void setRotationY(float rotationY) {
+        mView.setRotationY(rotationY);
+    }
+
+    public void setPivotX(float pivotX) {
+        setPivotSet(mView);
+        mView.setPivotX(pivotX);
+    }
+
+    public void setPivotY(float pivotY) {
+        setPivotSet(mView);
+        mView.setPivotY(pivotY);
+    }
+
+    private static void setPivotSet(View view) {
+        if(view.getTag(R.id.carousel_page_pivot_set) == null) {
+            view.setTag(R.id.carousel_page_pivot_set, Boolean.TRUE);
+        }
+        view.removeOnLayoutChangeListener(CENTER_PIVOT);
+    }
+
+    /**
+     * Resets every property this handle can change. The pivot is only moved back to the
+     * centre when a transformer set it, and then follows the centre when the page is resized,
+     * other pages keep the default pivot.
+     */
+    static void reset(View view) {
+        view.setTranslationX(0f);
+        view.setTranslationY(0f);
+        view.setScaleX(1f);
+        view.setScaleY(1f);
+        view.setAlpha(1f);
+        view.setRotation(0f);
+        view.setRotationX(0f);
+        view.setRotationY(0f);
+        if(view.getTag(R.id.carousel_page_pivot_set) != null) {
+            view.setPivotX(view.getWidth() / 2f);
+            view.setPivotY(view.getHeight() / 2f);
+            view.removeOnLayoutChangeListener(CENTER_PIVOT);
+            view.addOnLayoutChangeListener(CENTER_PIVOT);
+        }
+    }
+}
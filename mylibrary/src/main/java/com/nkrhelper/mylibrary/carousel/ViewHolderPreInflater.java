@@ -0,0 +1,275 @@
+package com.nkrhelper.mylibrary.carousel;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.v4.os.TraceCompat;
+import android.support.v7.widget.RecyclerView;
+import android.view.LayoutInflater;
+import android.widget.FrameLayout;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Created 18/10/2026.
+ *
+ * Fills the recycled view pool of a carousel with page views ahead of time. View types the
+ * adapter declares safe off the main thread are inflated on a background thread as soon
+ * as the adapter is set, the way AsyncLayoutInflater does, and join the pool when the
+ * carousel is measured, so the first layout takes the ones which are ready. The other
+ * types are inflated in main thread idle time, one view holder per idle slot. Idle time
+ * only comes after the first frame of a carousel in a window, since the traversal barrier
+ * blocks idle handlers, so those serve the following pages and auto play.
+ */
+
+class ViewHolderPreInflater implements MessageQueue.IdleHandler {
+    private static final String TRACE_PRE_INFLATE = "CarouselView preInflate";
+
+    // view types are collected from the first pages and the last one shown before the wrap
+
+    private static final int MAX_SCANNED_PAGES = 16;
+
+    private final RecyclerView mRecyclerView;
+    private CarouselView.Adapter<?> mAdapter;
+    private int mCount;
+    private final int[] mViewTypes = new int[MAX_SCANNED_PAGES + 1];
+    private int mViewTypeCount;
+    private int mViewTypeIndex;
+    private boolean mQueued;
+
+    // background inflation, results are handed over on the main thread
+
+    private final ConcurrentLinkedQueue<RecyclerView.ViewHolder> mInflated = new ConcurrentLinkedQueue<>();
+    private volatile int mGeneration;
+    private FrameLayout mBackgroundParent;
+
+    private final Runnable mDrainRunnable = new Runnable() {
+        @Override
+        public void run() {
+            drain();
+        }
+    };
+
+    ViewHolderPreInflater(RecyclerView recyclerView) {
+        mRecyclerView = recyclerView;
+    }
+
+    /**
+     * Starts topping up the pool of the current adapter to {@code count} views per view
+     * type, replacing a pre-inflation still running. Must be called on the main thread.
+     */
+    void start(int count) {
+        stop();
+
+        RecyclerView.Adapter adapter = mRecyclerView.getAdapter();
+        if(count <= 0 || !(adapter instanceof CarouselView.Adapter)) {
+            return;
+        }
+
+        mAdapter = (CarouselView.Adapter<?>) adapter;
+        mCount = count;
+        collectViewTypes();
+        if(mViewTypeCount == 0) {
+            return;
+        }
+
+        startBackgroundInflation();
+
+        mQueued = true;
+        Looper.myQueue().addIdleHandler(this);
+    }
+
+    void stop() {
+        if(mQueued) {
+            mQueued = false;
+            Looper.myQueue().removeIdleHandler(this);
+        }
+
+        synchronized(mInflated) {
+            mGeneration++;
+            mInflated.clear();
+        }
+        mAdapter = null;
+        mViewTypeCount = 0;
+        mViewTypeIndex = 0;
+    }
+
+    /**
+     * Moves the view holders inflated on the background thread into the pool. Called on
+     * the main thread before the carousel lays out its pages.
+     */
+    void drain() {
+        RecyclerView.ViewHolder holder;
+        while((holder = mInflated.poll()) != null) {
+            if(mAdapter == null || mRecyclerView.getAdapter() != mAdapter) {
+                mInflated.clear();
+                return;
+            }
+
+            RecyclerView.RecycledViewPool pool = mRecyclerView.getRecycledViewPool();
+            if(pool.getRecycledViewCount(holder.getItemViewType()) < mCount) {
+                pool.putRecycledView(holder);
+                mAdapter.recordPreInflatedViewHolder();
+            }
+        }
+    }
+
+    @Override
+    public boolean queueIdle() {
+        // the adapter was replaced since the pre-inflation started
+
+        if(mAdapter == null || mRecyclerView.getAdapter() != mAdapter) {
+            mQueued = false;
+            stop();
+            return false;
+        }
+
+        drain();
+
+        RecyclerView.RecycledViewPool pool = mRecyclerView.getRecycledViewPool();
+        while(mViewTypeIndex < mViewTypeCount) {
+            int viewType = mViewTypes[mViewTypeIndex];
+            int recycledCount = pool.getRecycledViewCount(viewType);
+            if(recycledCount >= mCount || mAdapter.canPreInflateOffMainThread(viewType)) {
+                mViewTypeIndex++;
+                continue;
+            }
+
+            TraceCompat.beginSection(TRACE_PRE_INFLATE);
+            try {
+                pool.putRecycledView(mAdapter.createPreInflatedViewHolder(mRecyclerView, viewType));
+                mAdapter.recordPreInflatedViewHolder();
+            } finally {
+                TraceCompat.endSection();
+            }
+
+            // a full pool drops the view, move on to the next type
+
+            if(pool.getRecycledViewCount(viewType) <= recycledCount) {
+                mViewTypeIndex++;
+            }
+            break;
+        }
+
+        if(mViewTypeIndex < mViewTypeCount) {
+            return true;
+        }
+
+        mQueued = false;
+        return false;
+    }
+
+    private void startBackgroundInflation() {
+        RecyclerView.RecycledViewPool pool = mRecyclerView.getRecycledViewPool();
+        final int[] viewTypes = new int[mViewTypeCount];
+        final int[] counts = new int[mViewTypeCount];
+        int total = 0;
+        for(int i = 0; i < mViewTypeCount; i++) {
+            viewTypes[i] = mViewTypes[i];
+            if(mAdapter.canPreInflateOffMainThread(mViewTypes[i])) {
+                counts[i] = Math.max(mCount - pool.getRecycledViewCount(mViewTypes[i]), 0);
+                total += counts[i];
+            }
+        }
+        if(total == 0) {
+            return;
+        }
+
+        if(mBackgroundParent == null) {
+            mBackgroundParent = new FrameLayout(new InflaterContext(mRecyclerView.getContext()));
+        }
+
+        // one task inflating sequentially, the cloned inflater is not safe for concurrent use
+
+        final CarouselView.Adapter<?> adapter = mAdapter;
+        final FrameLayout parent = mBackgroundParent;
+        final int generation = mGeneration;
+        CarouselExecutors.getBackgroundExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                for(int i = 0; i < viewTypes.length; i++) {
+                    for(int j = 0; j < counts[i]; j++) {
+                        if(generation != mGeneration) {
+                            return;
+                        }
+
+                        RecyclerView.ViewHolder holder;
+                        TraceCompat.beginSection(TRACE_PRE_INFLATE);
+                        try {
+                            holder = adapter.createPreInflatedViewHolder(parent, viewTypes[i]);
+                        } finally {
+                            TraceCompat.endSection();
+                        }
+
+                        // stopped while inflating, the holder must not reach the pool of a later adapter
+
+                        synchronized(mInflated) {
+                            if(generation != mGeneration) {
+                                return;
+                            }
+                            mInflated.add(holder);
+                        }
+                        CarouselExecutors.getMainHandler().post(mDrainRunnable);
+                    }
+                }
+            }
+        });
+    }
+
+    private void collectViewTypes() {
+        int actualItemCount = mAdapter.getActualItemCount();
+        int scannedCount = Math.min(actualItemCount, MAX_SCANNED_PAGES);
+        for(int i = 0; i < scannedCount; i++) {
+            addViewType(mAdapter.getCarouselItemViewType(i));
+        }
+        if(actualItemCount > scannedCount) {
+            addViewType(mAdapter.getCarouselItemViewType(actualItemCount - 1));
+        }
+
+        // make room for the pre-inflated views, plain pools keep their own capacity
+
+        RecyclerView.RecycledViewPool pool = mRecyclerView.getRecycledViewPool();
+        if(pool instanceof CarouselViewPool) {
+            CarouselViewPool carouselViewPool = (CarouselViewPool) pool;
+            for(int i = 0; i < mViewTypeCount; i++) {
+                if(carouselViewPool.getMaxRecycledViews(mViewTypes[i]) < mCount) {
+                    carouselViewPool.setMaxRecycledViews(mViewTypes[i], mCount);
+                }
+            }
+        }
+    }
+
+    private void addViewType(int viewType) {
+        for(int i = 0; i < mViewTypeCount; i++) {
+            if(mViewTypes[i] == viewType) {
+                return;
+            }
+        }
+
+        mViewTypes[mViewTypeCount++] = viewType;
+    }
+
+    /**
+     * Hands out its own clone of the layout inflater, so inflating on the background thread
+     * never shares inflater state with the main thread. Inflated views keep the original
+     * context.
+     */
+    private static class InflaterContext extends ContextWrapper {
+        private final LayoutInflater mLayoutInflater;
+
+        InflaterContext(Context base) {
+            super(base);
+            mLayoutInflater = LayoutInflater.from(base).cloneInContext(base);
+        }
+
+        @Override
+        public Object getSystemService(String name) {
+            if(LAYOUT_INFLATER_SERVICE.equals(name)) {
+                return mLayoutInflater;
+            }
+
+            return super.getSystemService(name);
+        }
+    }
+}